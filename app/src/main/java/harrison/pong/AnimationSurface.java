@@ -3,13 +3,19 @@ package harrison.pong;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.os.Build;
+import android.os.Looper;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 import android.view.View;
 import android.view.View.OnTouchListener;
+import android.view.WindowManager;
+
+import harrison.pong.core.PhaseTimings;
 
 /**
  * A SurfaceView which allows which an animation to be drawn on it by a
@@ -25,10 +31,22 @@ public class AnimationSurface extends SurfaceView implements OnTouchListener {
 
 	// instance variables
 	private Animator animator; // our animator
-	private AnimationThread animationThread = null; // thread to generate ticks
+	private AnimationThread animationThread = null; // thread to draw frames
+	private SimulationThread simulationThread = null; // thread to generate ticks
 	private Paint backgroundPaint = new Paint(); // painter for painting background
-	private int flashCount; // counts down ticks for background-flash
-	private Paint flashPaint; // has color for background flash
+	private volatile int flashCount; // counts down millis of background-flash
+	private Paint flashPaint = new Paint(); // has color for background flash
+
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	// how long before a deadline to stop sleeping and start yielding
+	private static final long SPIN_NANOS = NANOS_PER_MILLI;
+
+	// whether to draw frames from Choreographer's vsync callbacks
+	private volatile boolean vsyncPacing = true;
+
+	// where to record how long each phase of a frame took, or null
+	private volatile PhaseTimings timings;
 	
 	/**
 	 * Constructor for the AnimationSurface class. In order to be useful, an
@@ -84,7 +102,10 @@ public class AnimationSurface extends SurfaceView implements OnTouchListener {
 	private void startAnimation() {
 
 		// create and start a thread to generate "ticks" for the animator
-		// with the frequency that it desires
+		// with the frequency that it desires, and another to draw frames
+		// as fast as the display takes them, so neither waits for the other
+		this.simulationThread = new SimulationThread();
+		simulationThread.start();
 		this.animationThread = new AnimationThread(getHolder());
 		animationThread.start();
 
@@ -118,6 +139,30 @@ public class AnimationSurface extends SurfaceView implements OnTouchListener {
 		}
 	}
 
+	/**
+	 * Chooses how frames are paced. With vsync pacing (the default), a frame
+	 * is drawn for each display refresh as Choreographer reports it, on
+	 * devices that have it (API 16 and up). Without it, or on older devices,
+	 * frames are drawn at deadlines one refresh period apart. Only takes
+	 * effect if called before the animation starts (e.g., before setAnimator).
+	 * 
+	 * @param vsyncPacing whether to pace frames with Choreographer
+	 */
+	public void setVsyncPacing(boolean vsyncPacing) {
+		this.vsyncPacing = vsyncPacing;
+	}
+
+	/**
+	 * Records how long each phase of drawing a frame takes (waiting for
+	 * the canvas, drawing, posting it, and the whole frame) into the given
+	 * timings, from the drawing thread.
+	 * 
+	 * @param timings where to record, or null to stop recording
+	 */
+	public void setTimings(PhaseTimings timings) {
+		this.timings = timings;
+	}
+
 	/**
 	 * Causes the background color to flash (change color) for the specified amount of time.
 	 * @param color
@@ -130,7 +175,65 @@ public class AnimationSurface extends SurfaceView implements OnTouchListener {
 	}
 
 	/**
-	 * Thread subclass to control the game loop
+	 * Thread subclass that advances the animator in fixed steps of
+	 * interval() milliseconds, independently of drawing
+	 */
+	private class SimulationThread extends Thread {
+
+		// the most simulation steps we will fall behind before giving up
+		// on catching up
+		private static final int MAX_STEPS_BEHIND = 5;
+
+		/** ctor names the thread */
+		public SimulationThread() {
+			setName("SimulationThread");
+		}
+
+		/**
+		 * This is the simulation loop. It ticks the Animator every interval()
+		 * milliseconds, waiting until each step is due, and running steps
+		 * back to back when it has fallen behind.
+		 */
+		@Override
+		public void run() {
+
+			// length of one simulation step
+			long stepNanos = animator.interval() * NANOS_PER_MILLI;
+			long nextStep = System.nanoTime(); // when the next step is due
+
+			while (true) {
+
+				// stop if the animator asks for it
+				if (animator.doQuit())
+					break;
+
+				// pause while the animator wishes it
+				if (animator.doPause()) {
+					while (animator.doPause()) {
+						sleepNanos(animator.interval() * NANOS_PER_MILLI);
+					}// while
+
+					// time spent paused is not simulated
+					nextStep = System.nanoTime();
+				}
+
+				animator.tick();
+				nextStep += stepNanos;
+
+				long wait = nextStep - System.nanoTime();
+				if (wait > 0) {
+					waitUntil(nextStep);
+				}
+				else if (-wait > MAX_STEPS_BEHIND * stepNanos) {
+					// we are too far behind to catch up: drop the backlog
+					nextStep = System.nanoTime();
+				}
+			}// while
+		}// run
+	}
+
+	/**
+	 * Thread subclass that draws frames of the animator
 	 * 
 	 * Code adapted from Android:How to Program by Deitel, et.al., first edition
 	 * copyright (C)2013.
@@ -142,8 +245,8 @@ public class AnimationSurface extends SurfaceView implements OnTouchListener {
 		// canvas when we want to write to it
 		private SurfaceHolder surfaceHolder;
 
-		// controls animation stop/go based upon instructions from the Animator
-		private boolean threadIsRunning = true;
+		// System.nanoTime() of the last frame drawn, 0 before the first
+		private long previousFrameTime;
 
 		/** ctor inits instance variables */
 		public AnimationThread(SurfaceHolder holder) {
@@ -151,20 +254,6 @@ public class AnimationSurface extends SurfaceView implements OnTouchListener {
 			setName("AnimationThread");
 		}
 
-		/**
-		 * causes this thread to pause for a given interval.
-		 * 
-		 * @param interval
-		 *            duration in milliseconds
-		 */
-		private void sleep(int interval) {
-			try {
-				Thread.sleep(interval); // use sleep to avoid busy wait
-			} catch (InterruptedException ie) {
-				// don't care if we're interrupted
-			}
-		}// sleep
-		
 		/**
 		 * Causes the background to be changed ("flash") for the given period
 		 * of time.
@@ -175,85 +264,199 @@ public class AnimationSurface extends SurfaceView implements OnTouchListener {
 		 * 			the number of milliseconds for this the flash should occur
 		 */
 		public void flash(int color, int millis) {
+			flashPaint.setColor(color); // give the painter the appropriate color
 			flashCount = millis; // set the flash count
-			flashPaint = new Paint(); // create painter ...
-			flashPaint.setColor(color); // ... with the appropriate color
 		}
 
 		/**
-		 * This is the main animation loop. It calls the Animator's draw()
-		 * method at regular intervals to creation the animation.
+		 * This is the main drawing loop. It draws the latest state of the
+		 * Animator once per display refresh, without ever waiting for a
+		 * simulation step: from Choreographer's vsync callbacks when they
+		 * are available and wanted, otherwise at deadlines one refresh
+		 * period apart.
 		 */
 		@Override
 		public void run() {
+			if (vsyncPacing
+					&& Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+				// Choreographer calls back on this thread's looper
+				Looper.prepare();
+				new VsyncPacer(this).start();
+				Looper.loop();
+				return;
+			}
 
-			Canvas canvas = null;// ref to canvas animator draws upon
-			long lastTickEnded = 0; // when the last tick ended
+			long framePeriod = framePeriodNanos();
+			long nextFrame = System.nanoTime(); // when the next frame is due
 
-			while (threadIsRunning) {
+			while (isDrawing()) {
+				drawFrame(System.nanoTime());
 
-				// stop if the animator asks for it
-				if (animator.doQuit())
-					break;
-
-				// pause while the animator wishes it
-				while (animator.doPause()) {
-					sleep(animator.interval());
-				}// while
-
-				// Pause to honor the animator's tick frequency specification
-				long currTime = System.currentTimeMillis();
-				long remainingWait = animator.interval()
-						- (currTime - lastTickEnded);
-				if (remainingWait > 0) {
-					sleep((int) remainingWait);
+				nextFrame += framePeriod;
+				long now = System.nanoTime();
+				if (nextFrame - now < 0) {
+					// we missed a refresh: wait for the next one rather than
+					// drawing frames back to back that will never be shown
+					nextFrame = now + framePeriod - (now - nextFrame) % framePeriod;
 				}
+				waitUntil(nextFrame);
+			}// while
+		}// run
+
+		/**
+		 * @return whether frames should still be drawn
+		 */
+		private boolean isDrawing() {
+			return simulationThread.isAlive();
+		}
+
+		/**
+		 * draws one frame: the background, then the animator
+		 * 
+		 * @param frameTime
+		 *            System.nanoTime() the frame is for
+		 */
+		private void drawFrame(long frameTime) {
+
+			Canvas canvas = null;// ref to canvas animator draws upon
+
+			// find how much real time has passed since the last frame
+			long elapsed = previousFrameTime == 0 ? 0 : frameTime - previousFrameTime;
+			previousFrameTime = frameTime;
+
+			PhaseTimings timings = AnimationSurface.this.timings;
+			if (timings != null && elapsed > 0) {
+				timings.record(PhaseTimings.FRAME, elapsed);
+			}
 
-				// Ok! We can draw now.
-				try {
-					// lock the surface for drawing
-					canvas = surfaceHolder.lockCanvas(null);
-					
-					//paint the background
-					if (canvas != null) {
-						// draw the background
-						if (flashCount > 0) {
-							// we are flashing: draw the "flash" color
-							canvas.drawRect(0,0,getWidth(),getHeight(), flashPaint);
-							
-							// decrement the flash count by the number of milliseconds in
-							// our interval
-							flashCount -= animator.interval();
-							
-							// if we've finished, "release" the flash-painting object
-							if (flashCount <= 0) {
-								flashPaint = null;
-							}
-						}
-						else {
-							// not flashing: draw the normal background color
-							canvas.drawRect(0, 0, getWidth(), getHeight(), backgroundPaint);
-						}
-
-						// tell the animator to draw the next frame
-						synchronized (surfaceHolder) {
-							animator.tick(canvas);
-						}// synchronized
+			// Ok! We can draw now.
+			long lockStart = System.nanoTime();
+			long drawStart = lockStart;
+			try {
+				// lock the surface for drawing
+				canvas = surfaceHolder.lockCanvas(null);
+				drawStart = System.nanoTime();
+				
+				//paint the background
+				if (canvas != null) {
+					// draw the background
+					if (flashCount > 0) {
+						// we are flashing: draw the "flash" color
+						canvas.drawRect(0,0,getWidth(),getHeight(), flashPaint);
+						
+						// decrement the flash count by the number of
+						// milliseconds this frame took
+						flashCount -= elapsed / NANOS_PER_MILLI;
 					}
-				}// try
-				finally {
-					// release the canvas
-					if (canvas != null) {
-						surfaceHolder.unlockCanvasAndPost(canvas);
+					else {
+						// not flashing: draw the normal background color
+						canvas.drawRect(0, 0, getWidth(), getHeight(), backgroundPaint);
 					}
+
+					// tell the animator to draw the next frame
+					animator.draw(canvas, frameTime);
+				}
+			}// try
+			finally {
+				// release the canvas
+				long postStart = System.nanoTime();
+				if (canvas != null) {
+					surfaceHolder.unlockCanvasAndPost(canvas);
 				}
 
-				// Note when this tick ended
-				lastTickEnded = System.currentTimeMillis();
-			}// while
-		}// run
+				if (timings != null && canvas != null) {
+					timings.record(PhaseTimings.LOCK, drawStart - lockStart);
+					timings.record(PhaseTimings.DRAW, postStart - drawStart);
+					timings.record(PhaseTimings.POST, System.nanoTime() - postStart);
+				}
+			}
+		}// drawFrame
+	}
+
+	/**
+	 * Draws a frame of an AnimationThread each time the display refreshes,
+	 * using Choreographer (API 16 and up). Kept in its own class so that
+	 * older devices never load Choreographer.
+	 */
+	private static class VsyncPacer implements Choreographer.FrameCallback {
+
+		// the thread whose frames we draw; we run on its looper
+		private AnimationThread thread;
+
+		/** ctor inits instance variables */
+		public VsyncPacer(AnimationThread thread) {
+			this.thread = thread;
+		}
+
+		/**
+		 * asks for a callback at the next vsync
+		 */
+		public void start() {
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+
+		/**
+		 * Draws one frame for the vsync at the given time. If drawing runs
+		 * past the next vsync, Choreographer skips it instead of queuing it.
+		 */
+		@Override
+		public void doFrame(long frameTimeNanos) {
+			if (!thread.isDrawing()) {
+				Looper.myLooper().quit();
+				return;
+			}
+			thread.drawFrame(frameTimeNanos);
+			start();
+		}
+	}
+
+	/**
+	 * @return how long the display shows each frame, from its refresh rate
+	 *         (e.g., 60, 90 or 120 Hz)
+	 */
+	private long framePeriodNanos() {
+		WindowManager windowManager =
+				(WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE);
+		float refreshRate = windowManager.getDefaultDisplay().getRefreshRate();
+		if (refreshRate < 1) {
+			refreshRate = 60; // some devices report nothing useful
+		}
+		return (long) (1000 * NANOS_PER_MILLI / refreshRate);
 	}
 
+	/**
+	 * causes the calling thread to wait until the given time: sleeping
+	 * through most of the wait, then yielding for the last part, since
+	 * sleep often wakes up a millisecond or more late
+	 * 
+	 * @param deadline
+	 *            System.nanoTime() to wait until
+	 */
+	private static void waitUntil(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		if (remaining > SPIN_NANOS) {
+			sleepNanos(remaining - SPIN_NANOS);
+		}
+		while (deadline - System.nanoTime() > 0) {
+			Thread.yield();
+		}
+	}// waitUntil
+
+	/**
+	 * causes the calling thread to pause for a given interval.
+	 * 
+	 * @param nanos
+	 *            duration in nanoseconds
+	 */
+	private static void sleepNanos(long nanos) {
+		try {
+			// use sleep to avoid busy wait
+			Thread.sleep(nanos / NANOS_PER_MILLI, (int) (nanos % NANOS_PER_MILLI));
+		} catch (InterruptedException ie) {
+			// don't care if we're interrupted
+		}
+	}// sleepNanos
+
 	/** 
 	 * if I am touched, pass the touch event to the animator
 	 */
@@ -15,13 +15,14 @@ import android.view.MotionEvent;
 public interface Animator {
 
 	/**
-	 * The time interval (in milliseconds) between animation frames. Thus, for
-	 * example, to draw a frame 20 times per second, you would return 50. This
-	 * method is called once at the beginning of the animation, so changing the
-	 * value during the animation will have no effect.
+	 * The fixed time step (in milliseconds) of the animation's simulation.
+	 * Thus, for example, to advance the simulation 20 times per second of
+	 * real time, you would return 50. This method is called once at the
+	 * beginning of the animation, so changing the value during the animation
+	 * will have no effect.
 	 * 
-	 * @return the time interval (in milliseconds) between calls to this class'
-	 *         "tick" method.
+	 * @return the time interval (in milliseconds) simulated by each call to
+	 *         this class' "tick" method.
 	 */
 	public int interval();
 
@@ -51,16 +52,31 @@ public interface Animator {
 	public boolean doQuit();
 
 	/**
-	 * Called once every clock tick (frequency specified by the "interval"
-	 * method) to draw the next animation-frame. Typically this is used to
-	 * update the animation's data to reflect the passage of time (e.g., to
-	 * modify an instance variable that gives the position of an object) before
-	 * the frame is drawn.
+	 * Called once for every "interval" milliseconds of real time that have
+	 * passed, to update the animation's data (e.g., to modify an instance
+	 * variable that gives the position of an object). When the simulation
+	 * falls behind, this is called several times in a row, so the simulation
+	 * always advances by exactly one interval per call.
+	 * 
+	 * This is called on the simulation thread, while "draw" is called on the
+	 * drawing thread at the same time, so anything "draw" reads must be
+	 * safe to read while "tick" runs (e.g., a snapshot published by "tick").
+	 */
+	public void tick();
+
+	/**
+	 * Called once per displayed frame, on the drawing thread, to draw the
+	 * latest state of the animation. This may be called more or less often
+	 * than "tick", and never waits for it.
 	 * 
 	 * @param canvas
 	 *            the Canvas object on which to draw the animation-frame.
+	 * @param frameTime
+	 *            System.nanoTime() when the frame began; can be compared with
+	 *            the time of the latest tick to interpolate between the
+	 *            previous and current positions of moving objects.
 	 */
-	public void tick(Canvas canvas);
+	public void draw(Canvas canvas, long frameTime);
 
 	/**
 	 * Called whenever the user touches the AnimationSurface so that the
@@ -0,0 +1,99 @@
+package harrison.pong;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+
+import harrison.pong.core.Renderer;
+
+/**
+ * Class CanvasRenderer
+ *
+ * draws for the game on an Android Canvas
+ * reuses the same few paints, changing their color for each call,
+ * so drawing does not allocate
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class CanvasRenderer implements Renderer {
+
+    //the canvas being drawn on this frame
+    private Canvas canvas;
+
+    private Paint fillPaint = new Paint();
+    private Paint strokePaint = new Paint();
+    private Paint textPaint = new Paint();
+    //replaces what is under it with transparency
+    private Paint clearPaint = new Paint();
+
+    /**
+     * CanvasRenderer constructor
+     */
+    public CanvasRenderer () {
+        strokePaint.setStyle(Paint.Style.STROKE);
+        clearPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
+    }
+
+    /**
+     * @param canvas the canvas to draw on until set again
+     */
+    public void setCanvas (Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    @Override
+    public void fillRect(int left, int top, int right, int bottom, int color) {
+        fillPaint.setColor(color);
+        canvas.drawRect(left, top, right, bottom, fillPaint);
+    }
+
+    @Override
+    public void strokeRect(int left, int top, int right, int bottom,
+                           int color, float width) {
+        strokePaint.setColor(color);
+        strokePaint.setStrokeWidth(width);
+        canvas.drawRect(left, top, right, bottom, strokePaint);
+    }
+
+    @Override
+    public void fillCircle(float x, float y, float radius, int color) {
+        fillPaint.setColor(color);
+        canvas.drawCircle(x, y, radius, fillPaint);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float endX, float endY,
+                         int color) {
+        fillPaint.setColor(color);
+        canvas.drawLine(startX, startY, endX, endY, fillPaint);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, float size,
+                         int color, int align) {
+        textPaint.setColor(color);
+        textPaint.setTextSize(size);
+        textPaint.setTextAlign(align == ALIGN_CENTER ?
+                Paint.Align.CENTER : Paint.Align.LEFT);
+        canvas.drawText(text, x, y, textPaint);
+    }
+
+    @Override
+    public void clearRect(int left, int top, int right, int bottom) {
+        canvas.drawRect(left, top, right, bottom, clearPaint);
+    }
+
+    @Override
+    public void clipRect(int left, int top, int right, int bottom) {
+        canvas.save();
+        canvas.clipRect(left, top, right, bottom);
+    }
+
+    @Override
+    public void restoreClip() {
+        canvas.restore();
+    }
+}
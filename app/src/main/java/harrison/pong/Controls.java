@@ -1,25 +1,35 @@
 package harrison.pong;
 
 
+import android.os.Handler;
+import android.os.Looper;
 import android.view.View;
 import android.widget.Button;
 import android.widget.RadioGroup;
 import android.widget.SeekBar;
 
+import harrison.pong.core.GameEvents;
+import harrison.pong.core.GameListener;
+import harrison.pong.core.PongGame;
+import harrison.pong.core.SpeedPreset;
+
 /**
  * Class Controls
  *
- * Able to determine actions of widgets according to PongAnimator
+ * Able to determine actions of widgets according to PongGame
  * has references to and listens to the views on the control panel
  * Updates Pong to match controls, and vice versa
+ * Changes to Pong are posted, since it is ticked on another thread,
+ * and Pong's events are delivered here on the UI thread
  *
  * @author Harry Thoma
  * @author Daylin Kuboyama
  */
 
-public class Controls implements View.OnClickListener, SeekBar.OnSeekBarChangeListener {
+public class Controls implements View.OnClickListener,
+        SeekBar.OnSeekBarChangeListener, GameListener {
 
-    private PongAnimator pong;
+    private PongGame pong;
     private Button startButton;
     private Button addBallButton;
     private SeekBar paddleSeekBar;
@@ -27,6 +37,16 @@ public class Controls implements View.OnClickListener, SeekBar.OnSeekBarChangeLi
 
     private boolean pongGameInPlay;
 
+    //events from pong, and what delivers them on the UI thread
+    private GameEvents events;
+    private Handler uiHandler = new Handler(Looper.getMainLooper());
+    private Runnable deliverEvents = new Runnable() {
+        @Override
+        public void run() {
+            events.deliverTo(Controls.this);
+        }
+    };
+
     //range of size of paddle
     private int minPaddle= 100;
     private int maxPaddle= 700;
@@ -44,7 +64,7 @@ public class Controls implements View.OnClickListener, SeekBar.OnSeekBarChangeLi
      * @param paddleSize
      * @param speedRadioGroup
      */
-    public Controls (PongAnimator pong, Button start,Button addBall,
+    public Controls (PongGame pong, Button start,Button addBall,
                      SeekBar paddleSize, RadioGroup speedRadioGroup) {
         this.pong = pong;
         this.startButton = start;
@@ -52,9 +72,16 @@ public class Controls implements View.OnClickListener, SeekBar.OnSeekBarChangeLi
         this.paddleSeekBar = paddleSize;
         this.speedRadioGroup = speedRadioGroup;
 
-        pong.setControls(this);
         initViews();
         initListener();
+
+        events = pong.getEvents();
+        events.setOnPending(new Runnable() {
+            @Override
+            public void run() {
+                uiHandler.post(deliverEvents);
+            }
+        });
     }
 
     /**
@@ -81,17 +108,17 @@ public class Controls implements View.OnClickListener, SeekBar.OnSeekBarChangeLi
         if (view == startButton) {
             //if the game is over, we must start new game
             if(pong.isGameOver()){
-                pong.startNewGame();
+                pong.postNewGame();
                 return;
             }
 
             findSpeeds();
             startButton.setText("STOP!"); //changes text on button
-            pong.startOrResetBall(minSpeed, maxSpeed);
+            pong.postStartOrResetBall(minSpeed, maxSpeed);
         }
         else if (view == addBallButton) {
             findSpeeds();
-            pong.addBall(minSpeed, maxSpeed);
+            pong.postAddBall(minSpeed, maxSpeed);
         }
     }
 
@@ -102,32 +129,46 @@ public class Controls implements View.OnClickListener, SeekBar.OnSeekBarChangeLi
     public void findSpeeds () {
         int checkedID = speedRadioGroup.getCheckedRadioButtonId();
 
+        SpeedPreset speed;
         if (checkedID == R.id.radioButtonSlow) {
-            minSpeed = 2000;
-            maxSpeed = 3000;
+            speed = SpeedPreset.SLOW;
         }
         else if (checkedID == R.id.radioButtonNormal) {
-            minSpeed = 4000;
-            maxSpeed = 5000;
+            speed = SpeedPreset.NORMAL;
         }
         else if (checkedID == R.id.radioButtonFast) {
-            minSpeed = 6000;
-            maxSpeed = 7000;
+            speed = SpeedPreset.FAST;
+        }
+        else {
+            return;
         }
+
+        minSpeed = speed.getMinSpeed();
+        maxSpeed = speed.getMaxSpeed();
     }
 
     /**
      * updates controls to match restarted game
      */
+    @Override
     public void ballRestarted () {
         startButton.setText("START!");
-        pong.changePaddleSize(paddleSize());
+        pong.postPaddleSize(paddleSize());
 
     }
 
+    /**
+     * updates controls to match a ball in play
+     */
+    @Override
+    public void ballStarted () {
+        startButton.setText("STOP!");
+    }
+
     /**
      * enables changes button to say new game
      */
+    @Override
     public void gameOver(){
         startButton.setText("New Game");
     }
@@ -135,6 +176,7 @@ public class Controls implements View.OnClickListener, SeekBar.OnSeekBarChangeLi
     /**
      * indicates that pong game has begun
      */
+    @Override
     public void gameBegin(){
         ballRestarted();
     }
@@ -150,18 +192,20 @@ public class Controls implements View.OnClickListener, SeekBar.OnSeekBarChangeLi
      * changes seekBar to reflect given paddle size
      * @param size the size of paddle
      */
-    private void setSeekBarToSize(int size){
+    public void setSeekBarToSize(int size){
         int progress= size-minPaddle;
         paddleSeekBar.setProgress(progress);
     }
 
     @Override
     public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
-        pong.changePaddleSize(paddleSize());
+        pong.postPaddleSize(paddleSize());
     }
 
     //unused methods
     @Override
+    public void scoreChanged(int score){}
+    @Override
     public void onStartTrackingTouch(SeekBar seekBar){}
     @Override
     public void onStopTrackingTouch(SeekBar seekBar) {}
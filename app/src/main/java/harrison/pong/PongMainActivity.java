@@ -4,6 +4,8 @@ import android.hardware.Sensor;
 import android.hardware.SensorManager;
 import android.support.v7.app.AppCompatActivity;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.app.Activity;
 import android.util.Log;
 import android.view.Menu;
@@ -12,6 +14,24 @@ import android.widget.LinearLayout;
 import android.widget.RadioGroup;
 import android.widget.SeekBar;
 
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import harrison.pong.core.InputRecording;
+import harrison.pong.core.Level;
+import harrison.pong.core.PongGame;
+import harrison.pong.core.SaveListener;
+
 /**
  * PongMainActivity
  *
@@ -52,6 +72,42 @@ import android.widget.SeekBar;
  */
 public class PongMainActivity extends AppCompatActivity {
 
+    //the game being played
+    private PongGame pong;
+    //every input to the game, in debug builds, for replaying bugs
+    private InputRecording recording;
+
+    //the animator ticking the game
+    private PongAnimator animator;
+
+    //writes saved games to a file, off the ticking thread; kept for as
+    //long as the app runs, since a save may be written after the activity
+    //that asked for it is gone. Its one thread is a daemon, and ends
+    //when idle, so it never keeps the app alive
+    private static final ExecutorService saver = newSaver();
+    //how long the saver's thread waits for more work before ending
+    private static final long SAVER_IDLE_SECONDS = 5;
+
+    //guards lastSave, savePending and onSaveTaken
+    private static final Object saves = new Object();
+    //the last game saved while the app has run, so that a new activity,
+    //as when the screen turns, carries it on without reading it back
+    private static ByteBuffer lastSave;
+    //whether a save has been asked for and not yet taken by its game
+    private static boolean savePending;
+    //run on the ticking thread once that save is taken, or null
+    private static Runnable onSaveTaken;
+    //longest to wait for that save before carrying on without it
+    private static final long SAVE_WAIT_MILLIS = 2000;
+
+    //the last saved game, reused for the next save; null while saving
+    private volatile ByteBuffer saveBuffer;
+    //posts to the UI thread
+    private final Handler uiHandler = new Handler(Looper.getMainLooper());
+    //whether the game has been started, and whether the activity is gone
+    private boolean started;
+    private boolean destroyed;
+
     /**
      * creates an AnimationSurface containing a TestAnimator.
      */
@@ -60,11 +116,54 @@ public class PongMainActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.pong_main);
 
+        newGame();
+        //a save asked for by an activity just gone, as when the screen
+        //turns, may not be taken yet; rather than wait for it, the game
+        //is started once it is
+        final Runnable start = new Runnable() {
+            @Override
+            public void run() {
+                if (started || destroyed) return;
+                uiHandler.removeCallbacks(this);
+                startGame();
+            }
+        };
+        synchronized (saves) {
+            if (savePending) {
+                onSaveTaken = new Runnable() {
+                    @Override
+                    public void run() {
+                        uiHandler.post(start);
+                    }
+                };
+                uiHandler.postDelayed(start, SAVE_WAIT_MILLIS);
+                return;
+            }
+        }
+        startGame();
+    }
+
+    /**
+     * carries on the saved game, if there is one, and starts it ticking
+     */
+    private void startGame() {
+        started = true;
+        //carries on where the game was left, before it is first drawn
+        boolean restored = restoreGame();
+        //read before the game starts ticking
+        int paddleWidth = pong.getPaddleWidth();
+        //a carried on game cannot be replayed from its start
+        if (BuildConfig.DEBUG && pong.getStep() == 0) {
+            recording = pong.startRecording();
+        }
         // Connect the animation surface with the animator
         AnimationSurface mySurface = (AnimationSurface) this
                 .findViewById(R.id.animationSurface);
-        PongAnimator pong = new PongAnimator();
-        mySurface.setAnimator(pong);
+        animator = new PongAnimator(pong);
+        //debug builds show how long ticks and frames take
+        animator.setShowTimings(BuildConfig.DEBUG);
+        mySurface.setTimings(pong.getTimings());
+        mySurface.setAnimator(animator);
 
         Button startButton=
                 (Button)findViewById(R.id.buttonStart);
@@ -78,5 +177,214 @@ public class PongMainActivity extends AppCompatActivity {
         Controls control =
                 new Controls(pong,startButton,addBallButton,paddleSizeBar,
                         ballSpeedRadio);
+        //so the paddle is not set back to the seekBar's size
+        if (restored) {
+            control.setSeekBarToSize(paddleWidth);
+        }
+    }
+
+    /**
+     * makes the saver: one daemon thread, ended when idle
+     *
+     * @return the saver
+     */
+    private static ExecutorService newSaver() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                SAVER_IDLE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable task) {
+                        Thread thread = new Thread(task, "game saver");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * makes a new game, playing the level in the app's files if there is one
+     */
+    private void newGame() {
+        pong = new PongGame();
+        pong.setPhysicsThreads(Runtime.getRuntime().availableProcessors());
+        loadLevel();
+    }
+
+    /**
+     * plays the level in level.lvl in the app's files, if there is one,
+     * instead of the default one
+     */
+    private void loadLevel() {
+        File file = new File(getFilesDir(), "level.lvl");
+        if (!file.exists()) return;
+
+        try {
+            pong.setLevel(Level.load(file));
+        }
+        catch (IOException e) {
+            Log.e("PongMainActivity", "could not load level", e);
+        }
+    }
+
+    /**
+     * carries on the last game saved while the app has run, or else the
+     * one saved in saved-game.state in the app's files, if there is one
+     *
+     * @return whether a saved game was carried on
+     */
+    private boolean restoreGame() {
+        ByteBuffer saved;
+        synchronized (saves) {
+            saved = lastSave;
+        }
+        File file = saveFile();
+        if (saved == null && !file.exists()) return false;
+
+        try {
+            //may still be being written out, so is read through a copy
+            //of its position, and never saved into again
+            if (saved != null) {
+                pong.restoreState(saved.duplicate());
+                return true;
+            }
+            RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                ByteBuffer state = ByteBuffer.allocateDirect((int) in.length());
+                FileChannel channel = in.getChannel();
+                while (state.hasRemaining() && channel.read(state) >= 0) {}
+                state.flip();
+                pong.restoreState(state);
+                saveBuffer = state;
+                return true;
+            }
+            finally {
+                in.close();
+            }
+        }
+        catch (IOException e) {
+            //a game that cannot be carried on is started over, afresh
+            Log.e("PongMainActivity", "could not restore game", e);
+            pong.shutdown();
+            newGame();
+            return false;
+        }
+    }
+
+    /**
+     * writes a saved game to saved-game.state, by way of another file,
+     * so a save cut short never replaces a good one
+     *
+     * @param state the saved game
+     */
+    private void writeSave(ByteBuffer state) {
+        File file = saveFile();
+        File temp = new File(getFilesDir(), "saved-game.tmp");
+        try {
+            FileOutputStream out = new FileOutputStream(temp);
+            try {
+                FileChannel channel = out.getChannel();
+                while (state.hasRemaining()) {
+                    channel.write(state);
+                }
+            }
+            finally {
+                out.close();
+            }
+            if (!temp.renameTo(file)) {
+                throw new IOException("could not replace " + file);
+            }
+        }
+        catch (IOException e) {
+            Log.e("PongMainActivity", "could not save game", e);
+        }
+        saveBuffer = state;
+    }
+
+    /**
+     * @return where the game is saved between runs
+     */
+    private File saveFile() {
+        return new File(getFilesDir(), "saved-game.state");
+    }
+
+    /**
+     * saves the game, without waiting, so it can be carried on next time;
+     * and saves the recording of the game so far, if there is one, so that
+     * it can be copied off the device and replayed with PongGame.replay
+     */
+    @Override
+    protected void onPause() {
+        super.onPause();
+        //the buffer is given back once written, so is never saved into
+        //while it is still being written out
+        //a game not yet started has nothing new to save
+        if (!started) return;
+        ByteBuffer buffer = saveBuffer;
+        saveBuffer = null;
+        SaveListener writer = new SaveListener() {
+            @Override
+            public void saved(final ByteBuffer state) {
+                Runnable taken;
+                synchronized (saves) {
+                    lastSave = state;
+                    savePending = false;
+                    taken = onSaveTaken;
+                    onSaveTaken = null;
+                }
+                if (taken != null) {
+                    taken.run();
+                }
+                saver.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        writeSave(state);
+                    }
+                });
+            }
+        };
+        //marked pending first, as the save may be taken at once
+        synchronized (saves) {
+            savePending = true;
+            if (!pong.postSave(buffer, writer)) {
+                //a save may already be on its way
+                savePending = pong.isSavePending();
+                saveBuffer = buffer;
+            }
+        }
+        if (recording == null) return;
+
+        File file = new File(getFilesDir(), "last-game.rec");
+        try {
+            DataOutputStream out =
+                    new DataOutputStream(new FileOutputStream(file));
+            try {
+                recording.writeTo(out);
+            }
+            finally {
+                out.close();
+            }
+        }
+        catch (IOException e) {
+            Log.e("PongMainActivity", "could not save recording", e);
+        }
+    }
+
+    /**
+     * stops ticking the game, once any save asked for has been taken
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        destroyed = true;
+        if (animator != null) {
+            animator.quit();
+        }
+        else {
+            //never started ticking, so nothing else stops its threads
+            pong.shutdown();
+        }
     }
 }
@@ -0,0 +1,76 @@
+package harrison.pong;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import harrison.pong.core.GameSnapshot;
+
+/**
+ * Class StaticLayer
+ *
+ * keeps the parts of the game that rarely change (walls, bricks and the
+ * boundary line) drawn on a bitmap, so each frame only has to copy the
+ * bitmap instead of drawing them all again
+ * the bitmap is only drawn on again where bricks changed, or all over
+ * when the bricks are replaced or the canvas changes size
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class StaticLayer {
+
+    private Bitmap bitmap;
+    private Canvas bitmapCanvas;
+    //draws on the bitmap
+    private CanvasRenderer renderer = new CanvasRenderer();
+
+    //versions of the snapshot last drawn on the bitmap
+    private int drawnLayout;
+    private int drawnVersion;
+
+    /**
+     * brings the bitmap up to date with a snapshot, then draws it
+     *
+     * @param canvas the canvas to draw the layer on
+     * @param snapshot the snapshot being drawn
+     */
+    public void draw(Canvas canvas, GameSnapshot snapshot) {
+        if (bitmap == null || bitmap.getWidth() != canvas.getWidth()
+                || bitmap.getHeight() != canvas.getHeight()
+                || drawnLayout != snapshot.getLayoutVersion()) {
+            redrawAll(canvas.getWidth(), canvas.getHeight(), snapshot);
+        }
+        else if (drawnVersion != snapshot.getStaticVersion()) {
+            //only where bricks changed
+            snapshot.drawStaticChangedSince(renderer, drawnVersion);
+            drawnVersion = snapshot.getStaticVersion();
+        }
+
+        canvas.drawBitmap(bitmap, 0, 0, null);
+    }
+
+    /**
+     * draws the whole layer again, on a new bitmap if the size changed
+     *
+     * @param width of canvas
+     * @param height of canvas
+     * @param snapshot the snapshot to draw
+     */
+    private void redrawAll(int width, int height, GameSnapshot snapshot) {
+        if (bitmap == null || bitmap.getWidth() != width
+                || bitmap.getHeight() != height) {
+            if (bitmap != null) bitmap.recycle();
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            bitmapCanvas = new Canvas(bitmap);
+            renderer.setCanvas(bitmapCanvas);
+        }
+        else {
+            bitmap.eraseColor(0); //transparent
+        }
+
+        snapshot.drawStatic(renderer);
+        drawnLayout = snapshot.getLayoutVersion();
+        drawnVersion = snapshot.getStaticVersion();
+    }
+}
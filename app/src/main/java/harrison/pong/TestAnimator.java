@@ -15,8 +15,9 @@ import android.view.MotionEvent;
 public class TestAnimator implements Animator {
 
 	// instance variables
-	private int count = 0; // counts the number of logical clock ticks
-	private boolean goBackwards = false; // whether clock is ticking backwards
+	private volatile int count = 0; // counts the number of logical clock ticks
+	private volatile boolean goBackwards = false; // whether clock is ticking backwards
+	private Paint redPaint = new Paint(); // paints the ball
 	
 	/**
 	 * Interval between animation frames: .03 seconds (i.e., about 33 times
@@ -50,10 +51,8 @@ public class TestAnimator implements Animator {
 	
 	/**
 	 * Action to perform on clock tick
-	 * 
-	 * @param g the graphics object on which to draw
 	 */
-	public void tick(Canvas g) {
+	public void tick() {
 		// bump our count either up or down by one, depending on whether
 		// we are in "backwards mode".
 		if (goBackwards) {
@@ -62,7 +61,15 @@ public class TestAnimator implements Animator {
 		else {
 			count++;
 		}
-		
+	}
+
+	/**
+	 * Draws the ball in its current position
+	 * 
+	 * @param g the graphics object on which to draw
+	 * @param frameTime System.nanoTime() when the frame began
+	 */
+	public void draw(Canvas g, long frameTime) {
 		// Determine the pixel position of our ball.  Multiplying by 15
 		// has the effect of moving 15 pixel per frame.  Modding by 600
 		// (with the appropriate correction if the value was negative)
@@ -72,10 +79,8 @@ public class TestAnimator implements Animator {
 		if (num < 0) num += 600;
 		
 		// Draw the ball in the correct position.
-		Paint redPaint = new Paint();
 		redPaint.setColor(Color.RED);
 		g.drawCircle(num, num, 60, redPaint);
-		redPaint.setColor(0xff0000ff);
 	}
 
 	/**
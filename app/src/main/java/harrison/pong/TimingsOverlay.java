@@ -0,0 +1,112 @@
+package harrison.pong;
+
+import harrison.pong.core.LatencyHistogram;
+import harrison.pong.core.PhaseTimings;
+import harrison.pong.core.Renderer;
+
+/**
+ * Class TimingsOverlay
+ *
+ * draws frames per second, frame and tick time percentiles and the
+ * number of balls over the game, for finding where slow frames come from
+ * the text is only remade twice a second, so the overlay
+ * does not make new objects every frame
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class TimingsOverlay {
+
+    //the timings shown
+    private PhaseTimings timings;
+
+    //how often the text is remade
+    private static final long UPDATE_NANOS = 500000000L;
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    private static final int TEXT_COLOR = 0xffffff00;
+    private static final float TEXT_SIZE = 36;
+
+    //lines of text shown, and when they were made
+    private String[] lines = {"", "", ""};
+    private long updatedAt;
+    //frames counted when the text was last made
+    private long framesAtUpdate;
+
+    private StringBuilder builder = new StringBuilder();
+
+    /**
+     * TimingsOverlay constructor
+     *
+     * @param timings the timings to show
+     */
+    public TimingsOverlay(PhaseTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * draws the overlay in the top right of the screen
+     *
+     * @param r renderer with which to draw
+     * @param frameTime System.nanoTime() of this frame
+     * @param width of the screen
+     * @param balls number of balls in play
+     */
+    public void draw(Renderer r, long frameTime, int width, int balls) {
+        if (frameTime - updatedAt >= UPDATE_NANOS) {
+            update(frameTime, balls);
+        }
+
+        for (int i=0; i<lines.length; i++) {
+            r.drawText(lines[i], width*0.6f, (i+2)*TEXT_SIZE, TEXT_SIZE,
+                    TEXT_COLOR, Renderer.ALIGN_LEFT);
+        }
+    }
+
+    /**
+     * remakes the text from the timings now
+     *
+     * @param now System.nanoTime() now
+     * @param balls number of balls in play
+     */
+    private void update(long now, int balls) {
+        LatencyHistogram frames = timings.get(PhaseTimings.FRAME);
+        //no frame rate yet the first time
+        double fps = updatedAt == 0 ? 0 :
+                (frames.getCount()-framesAtUpdate) * 1e9 / (now-updatedAt);
+        framesAtUpdate = frames.getCount();
+        updatedAt = now;
+
+        builder.setLength(0);
+        builder.append("fps ").append(Math.round(fps))
+                .append("  balls ").append(balls);
+        lines[0] = builder.toString();
+        lines[1] = describe("frame", frames);
+        lines[2] = describe("tick", timings.get(PhaseTimings.TICK));
+    }
+
+    /**
+     * @param name of the phase
+     * @param histogram times of the phase
+     * @return a line of text with the phase's percentiles in milliseconds
+     */
+    private String describe(String name, LatencyHistogram histogram) {
+        builder.setLength(0);
+        builder.append(name)
+                .append("  p50 ").append(millis(histogram.getPercentile(50)))
+                .append("  p95 ").append(millis(histogram.getPercentile(95)))
+                .append("  p99 ").append(millis(histogram.getPercentile(99)))
+                .append("  max ").append(millis(histogram.getMax()))
+                .append(" ms");
+        return builder.toString();
+    }
+
+    /**
+     * @param nanos a time in nanoseconds
+     * @return the time in milliseconds, to one decimal place
+     */
+    private static double millis(long nanos) {
+        return Math.round(nanos/NANOS_PER_MILLI*10)/10.0;
+    }
+}
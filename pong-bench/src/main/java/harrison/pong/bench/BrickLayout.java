@@ -0,0 +1,63 @@
+package harrison.pong.bench;
+
+import harrison.pong.core.Brick;
+import harrison.pong.core.PongGame;
+
+/**
+ * Enum BrickLayout
+ *
+ * the brick layouts benchmarks are run with
+ * bricks never break, so a layout stays the same for a whole benchmark
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public enum BrickLayout {
+    //the 18 brick pyramid the game starts with
+    DEFAULT {
+        @Override
+        public Brick[] build(PongGame game) {
+            Brick[] start = game.getBricks();
+            Brick[] bricks = new Brick[start.length];
+            for (int i = 0; i < start.length; i++) {
+                bricks[i] = new Brick(start[i].getLeft(), start[i].getTop(),
+                        start[i].getRight(), start[i].getBottom(), UNBREAKABLE);
+            }
+            return bricks;
+        }
+    },
+
+    //small bricks filling the top half of the screen
+    DENSE {
+        @Override
+        public Brick[] build(PongGame game) {
+            int columns = 40;
+            int rows = 16;
+            int width = game.getScreenWidth()/(columns+4);
+            int height = game.getScreenHeight()/(2*rows+4);
+            int left = (game.getScreenWidth() - columns*width)/2;
+            int top = 2*height;
+
+            Brick[] bricks = new Brick[columns*rows];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns; c++) {
+                    int x = left + c*width;
+                    int y = top + r*height;
+                    bricks[r*columns + c] =
+                            new Brick(x, y, x+width, y+height, UNBREAKABLE);
+                }
+            }
+            return bricks;
+        }
+    };
+
+    //more hits than any benchmark will make
+    private static final int UNBREAKABLE = Integer.MAX_VALUE;
+
+    /**
+     * @param game the game the bricks are for
+     * @return the bricks of this layout
+     */
+    public abstract Brick[] build(PongGame game);
+}
@@ -0,0 +1,76 @@
+package harrison.pong.bench;
+
+import harrison.pong.core.BallGrid;
+import harrison.pong.core.BallStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding and bouncing touching balls with BallGrid,
+ * against checking every pair of balls.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadphaseBenchmark {
+
+    private static final int WIDTH = 2550;
+    private static final int HEIGHT = 1300;
+    private static final int RADIUS = 45;
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int balls;
+
+    private BallStore store;
+    private BallGrid grid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        //same seed every run, so every run bounces the same balls
+        Random random = new Random(42);
+        store = new BallStore(balls);
+        for (int i = 0; i < balls; i++) {
+            store.add(random.nextDouble()*WIDTH, random.nextDouble()*HEIGHT,
+                    RADIUS, 4000, random.nextDouble()*2*Math.PI, 0xff0000ff);
+        }
+        grid = new BallGrid(WIDTH, HEIGHT, 2*RADIUS);
+    }
+
+    @Benchmark
+    public void grid() {
+        grid.build(store);
+        grid.bounceTouchingBalls(store);
+    }
+
+    @Benchmark
+    public void allPairs() {
+        int size = store.size();
+        for (int i = 0; i < size; i++) {
+            for (int j = i+1; j < size; j++) {
+                if (store.touches(i, j)) {
+                    store.bounceOff(i, j);
+                }
+            }
+        }
+    }
+}
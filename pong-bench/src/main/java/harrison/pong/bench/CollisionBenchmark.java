@@ -0,0 +1,103 @@
+package harrison.pong.bench;
+
+import harrison.pong.core.Brick;
+import harrison.pong.core.Contact;
+import harrison.pong.core.PongGame;
+import harrison.pong.core.WallGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding the first brick a moving ball hits, by sweeping
+ * it against every brick and against only the bricks WallGrid finds.
+ * Each operation sweeps one ball path from a fixed set of random paths.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    private static final int PATHS = 1024;
+    private static final int RADIUS = 45;
+    //distance a ball moves in a tick at the fastest speed
+    private static final int STEP = 70;
+
+    @Param({"DEFAULT", "DENSE"})
+    public BrickLayout layout;
+
+    private Brick[] bricks;
+    private WallGrid.Query query;
+    private Contact contact = new Contact();
+
+    //ball paths: start x, start y, delta x, delta y
+    private double[] paths = new double[4*PATHS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PongGame game = new PongGame();
+        bricks = layout.build(game);
+
+        WallGrid grid = new WallGrid(game.getScreenWidth(),
+                game.getScreenHeight(), game.getScreenHeight()/5);
+        for (Brick brick : bricks) {
+            grid.insert(brick);
+        }
+        query = grid.newQuery();
+
+        Random random = new Random(42);
+        for (int i = 0; i < PATHS; i++) {
+            double dir = random.nextDouble()*2*Math.PI;
+            paths[4*i] = random.nextDouble()*game.getScreenWidth();
+            paths[4*i+1] = random.nextDouble()*game.getScreenHeight();
+            paths[4*i+2] = Math.cos(dir)*STEP;
+            paths[4*i+3] = Math.sin(dir)*STEP;
+        }
+    }
+
+    @Benchmark
+    public Object sweepAllBricks() {
+        int p = 4*(next++ & (PATHS-1));
+        double x = paths[p], y = paths[p+1], dx = paths[p+2], dy = paths[p+3];
+
+        contact.reset();
+        for (Brick brick : bricks) {
+            brick.sweep(x, y, dx, dy, RADIUS, contact);
+        }
+        return contact.getWall();
+    }
+
+    @Benchmark
+    public Object sweepGridBricks() {
+        int p = 4*(next++ & (PATHS-1));
+        double x = paths[p], y = paths[p+1], dx = paths[p+2], dy = paths[p+3];
+
+        contact.reset();
+        int found = query.find(Math.min(x, x+dx) - RADIUS, Math.min(y, y+dy) - RADIUS,
+                Math.max(x, x+dx) + RADIUS, Math.max(y, y+dy) + RADIUS);
+        for (int i = 0; i < found; i++) {
+            query.getResult(i).sweep(x, y, dx, dy, RADIUS, contact);
+        }
+        return contact.getWall();
+    }
+}
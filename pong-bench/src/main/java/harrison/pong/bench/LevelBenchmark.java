@@ -0,0 +1,93 @@
+package harrison.pong.bench;
+
+import harrison.pong.core.PongGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a level from a file into a game, from mapping the
+ * file to the bricks being ready to hit.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+    //bricks in the level
+    @Param({"1000", "50000"})
+    public int bricks;
+
+    private File file;
+    private PongGame game;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        game = new PongGame(TickBenchmark.SEED);
+        file = File.createTempFile("bench", ".lvl");
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+        try {
+            harrison.pong.core.Level.compile(
+                    new BufferedReader(new StringReader(grid(bricks))), out);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public int load() throws IOException {
+        game.setLevel(harrison.pong.core.Level.load(file));
+        return game.getBricks().length;
+    }
+
+    /**
+     * Writes a level of small bricks in rows filling the top of the screen.
+     *
+     * @param count number of bricks
+     * @return the level, as text
+     */
+    static String grid(int count) {
+        int columns = 250;
+        int width = 10;
+        int height = 5;
+        StringBuilder text = new StringBuilder("size 2550 1300\n");
+        for (int row = 0; row*columns < count; row++) {
+            int inRow = Math.min(columns, count - row*columns);
+            text.append("row 25 ").append(65 + row*height).append(' ')
+                    .append(width).append(' ').append(height).append(' ')
+                    .append(inRow).append(" 3\n");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package harrison.pong.bench;
+
+import harrison.pong.core.InputRecording;
+import harrison.pong.core.PongGame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures playing a whole recorded game again, start to finish, the way
+ * a recording saved from the app would be replayed. Every run plays
+ * exactly the same game, so changes in time come only from changes to
+ * the code.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+    //balls added over the game
+    @Param({"10", "100", "1000"})
+    public int balls;
+
+    private InputRecording recording;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        recording = record(balls);
+    }
+
+    @Benchmark
+    public long replay() {
+        return PongGame.replay(recording).stateHash();
+    }
+
+    /**
+     * Records a game played the way a player might: moving the paddle
+     * into place, starting the ball, then adding balls until there are
+     * the given number, for up to 3000 ticks. The paddle is as wide as
+     * the screen, so the game ends once every brick is broken.
+     *
+     * @param balls number of balls to add
+     * @return the recording
+     */
+    static InputRecording record(int balls) {
+        PongGame game = new PongGame(TickBenchmark.SEED);
+        InputRecording recording = game.startRecording();
+
+        for (int x = 0; x < game.getScreenWidth(); x += 50) {
+            game.postTouch(x);
+            game.tick();
+        }
+        game.postPaddleSize(game.getScreenWidth());
+        game.postStartOrResetBall(4000, 5000);
+        for (int tick = 0; tick < 3000 && !game.isGameOver(); tick++) {
+            if (tick < balls) {
+                game.postAddBall(4000, 5000);
+            }
+            game.tick();
+        }
+        return recording;
+    }
+}
@@ -0,0 +1,86 @@
+package harrison.pong.bench;
+
+import harrison.pong.core.PongGame;
+import harrison.pong.core.SpeedPreset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one whole PongGame.tick: moving balls, sweeping them
+ * against walls and bricks, and bouncing touching balls.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int balls;
+
+    @Param({"DEFAULT", "DENSE"})
+    public BrickLayout layout;
+
+    @Param({"SLOW", "NORMAL", "FAST"})
+    public SpeedPreset speed;
+
+    //seed of every game, so that every run plays the same game
+    static final long SEED = 42;
+
+    private PongGame game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = newGame(balls, layout, speed);
+    }
+
+    @Benchmark
+    public void tick() {
+        game.tick();
+    }
+
+    /**
+     * Makes a game in play that stays the same on average from tick to
+     * tick: bricks never break and the paddle is as wide as the screen,
+     * so no ball is ever lost.
+     *
+     * @param balls number of balls in play
+     * @param layout bricks to play with
+     * @param speed range of ball speeds
+     * @return the game, with balls already spread out
+     */
+    static PongGame newGame(int balls, BrickLayout layout, SpeedPreset speed) {
+        PongGame game = new PongGame(SEED);
+        game.setBricks(layout.build(game));
+        game.changePaddleSize(game.getScreenWidth());
+
+        game.startBall(speed.getMinSpeed(), speed.getMaxSpeed());
+        for (int i = 1; i < balls; i++) {
+            game.addBall(speed.getMinSpeed(), speed.getMaxSpeed());
+        }
+
+        //balls all start on the paddle; let them spread out
+        for (int i = 0; i < 200; i++) {
+            game.tick();
+        }
+        return game;
+    }
+}
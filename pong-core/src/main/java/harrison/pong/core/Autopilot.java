@@ -0,0 +1,92 @@
+package harrison.pong.core;
+
+/**
+ * Class Autopilot
+ *
+ * moves the paddle by itself, for testing real games with no player
+ * works out where each ball will reach the paddle by reflecting its path
+ * off the side and top walls in one step, not by moving it tick by tick,
+ * so finding where every ball lands costs the same for each ball however
+ * far away it is; then goes to the ball that will get there first
+ * bricks are not allowed for, but the guess is made again every tick,
+ * so a ball that hits a brick is soon followed again
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class Autopilot {
+
+    /**
+     * @param game the game to play
+     * @return where to move the paddle's center to catch the ball that
+     *          will reach it first; where it is already if no ball will
+     */
+    public static int aim(PongGame game) {
+        BallStore balls = game.getBalls();
+        Wall[] walls = game.getWalls();
+        Paddle paddle = game.getPaddle();
+
+        //earliest two arrivals, in seconds, and where they are
+        double first = Double.MAX_VALUE;
+        double firstX = paddle.getCenterX();
+        double second = Double.MAX_VALUE;
+        double secondX = 0;
+
+        for (int i=0; i<balls.size(); i++) {
+            int rad = balls.getRadius(i);
+            double vy = balls.getYSpeed(i);
+            if (vy == 0) continue;
+
+            //the ball's center stays inside these while it bounces
+            double left = walls[PongGame.LEFT].getRight() + rad;
+            double right = walls[PongGame.RIGHT].getLeft() - rad;
+            double top = walls[PongGame.TOP].getBottom() + rad;
+            double line = paddle.getTop() - rad;
+
+            double y = balls.getY(i);
+            if (y > line) continue; //already past the paddle
+
+            //time until it reaches the paddle, after the top wall if rising
+            double time = vy > 0 ? (line-y)/vy
+                    : (y-top)/-vy + (line-top)/-vy;
+            double x = fold(balls.getX(i) + balls.getXSpeed(i)*time, left, right);
+
+            if (time < first) {
+                second = first;
+                secondX = firstX;
+                first = time;
+                firstX = x;
+            }
+            else if (time < second) {
+                second = time;
+                secondX = x;
+            }
+        }
+
+        //if the next ball lands close enough, catch both
+        int reach = (paddle.getRight()-paddle.getLeft())/2;
+        if (second < Double.MAX_VALUE && Math.abs(secondX-firstX) < reach) {
+            return (int) Math.round((firstX+secondX)/2);
+        }
+        return (int) Math.round(firstX);
+    }
+
+    /**
+     * where a point moving freely along a line lands once bounced between
+     * two walls, as if folding the line back and forth between them
+     *
+     * @param x where it would be with no walls
+     * @param left lowest it can be
+     * @param right highest it can be
+     * @return where it is
+     */
+    static double fold(double x, double left, double right) {
+        double width = right-left;
+        if (width <= 0) return left;
+
+        double u = (x-left) % (2*width);
+        if (u < 0) u += 2*width;
+        return left + (u > width ? 2*width-u : u);
+    }
+}
@@ -0,0 +1,147 @@
+package harrison.pong.core;
+
+import java.util.Arrays;
+
+/**
+ * Class BallGrid
+ *
+ * divides the screen into square cells as wide as a ball
+ * so that a ball only needs to be checked against balls in its own
+ * and neighboring cells to find which balls touch
+ * rebuilt every tick; reuses its arrays so it does not allocate
+ * once it has grown to the number of balls in play
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class BallGrid {
+
+    //size of each cell, in pixels
+    private int cellSize;
+    //number of cells across and down
+    private int columns;
+    private int rows;
+
+    //cellStart[c] is where cell c's balls start in sorted;
+    //cellStart[c+1] is where they end
+    private int[] cellStart;
+    //next free spot in sorted for each cell while building
+    private int[] cellFill;
+    //the cell each ball is in, by index in the ball store
+    private int[] cellOf = new int[16];
+    //indices of balls, ordered by cell
+    private int[] sorted = new int[16];
+
+    /**
+     * BallGrid constructor
+     *
+     * @param width of area balls move in
+     * @param height of area balls move in
+     * @param cellSize size of each cell; must be at least the
+     *                 diameter of the largest ball
+     */
+    public BallGrid (int width, int height, int cellSize) {
+        this.cellSize = cellSize;
+        this.columns = width/cellSize + 1;
+        this.rows = height/cellSize + 1;
+
+        cellStart = new int[columns*rows + 1];
+        cellFill = new int[columns*rows];
+    }
+
+    /**
+     * sorts balls into cells by where they are now
+     *
+     * @param balls all balls in play
+     */
+    public void build (BallStore balls) {
+        int numBalls = balls.size();
+        if (cellOf.length < numBalls) {
+            int capacity = Math.max(numBalls, 2*cellOf.length);
+            cellOf = new int[capacity];
+            sorted = new int[capacity];
+        }
+
+        //count balls in each cell
+        Arrays.fill(cellStart, 0);
+        for (int i=0; i < numBalls; i++) {
+            int cell = cellIndex(column(balls.getX(i)), row(balls.getY(i)));
+            cellOf[i] = cell;
+            cellStart[cell+1]++;
+        }
+
+        //turn counts into where each cell starts
+        for (int c=1; c < cellStart.length; c++) {
+            cellStart[c] += cellStart[c-1];
+        }
+
+        //place each ball in its cell
+        System.arraycopy(cellStart, 0, cellFill, 0, cellFill.length);
+        for (int i=0; i < numBalls; i++) {
+            sorted[cellFill[cellOf[i]]++] = i;
+        }
+    }
+
+    /**
+     * bounces every pair of touching balls off each other
+     * must be called after build with the same balls
+     *
+     * @param balls all balls in play
+     */
+    public void bounceTouchingBalls (BallStore balls) {
+        int numBalls = balls.size();
+
+        for (int i=0; i < numBalls; i++) {
+            int col = cellOf[i] % columns;
+            int row = cellOf[i] / columns;
+
+            //balls can only touch balls in the same or neighboring cells
+            int minCol = Math.max(col-1, 0);
+            int maxCol = Math.min(col+1, columns-1);
+            int minRow = Math.max(row-1, 0);
+            int maxRow = Math.min(row+1, rows-1);
+
+            for (int r=minRow; r <= maxRow; r++) {
+                for (int c=minCol; c <= maxCol; c++) {
+                    int cell = cellIndex(c, r);
+                    for (int k=cellStart[cell]; k < cellStart[cell+1]; k++) {
+                        int j = sorted[k];
+                        //only check each pair once
+                        if (j <= i) continue;
+
+                        if (balls.touches(i, j)) {
+                            balls.bounceOff(i, j);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param x coord
+     * @return column containing x, clamped to the grid
+     */
+    private int column (double x) {
+        int col = (int) (x/cellSize);
+        if (col < 0) return 0;
+        if (col >= columns) return columns-1;
+        return col;
+    }
+
+    /**
+     * @param y coord
+     * @return row containing y, clamped to the grid
+     */
+    private int row (double y) {
+        int row = (int) (y/cellSize);
+        if (row < 0) return 0;
+        if (row >= rows) return rows-1;
+        return row;
+    }
+
+    private int cellIndex (int col, int row) {
+        return row*columns + col;
+    }
+}
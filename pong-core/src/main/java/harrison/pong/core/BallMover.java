@@ -0,0 +1,260 @@
+package harrison.pong.core;
+
+import java.util.Arrays;
+
+/**
+ * Class BallMover
+ *
+ * moves balls for one tick, bouncing them off walls, the paddle and bricks
+ * does not change anything but the balls it moves; bricks that are hit are
+ * only recorded, to be hit once all balls have moved
+ * so several movers, each with its own share of the balls,
+ * can run at the same time
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+class BallMover {
+
+    //most times a ball may bounce in one tick
+    private static final int MAX_BOUNCES_PER_TICK = 4;
+
+    private BallStore balls;
+    private WallGrid.Query query;
+    private Paddle paddle;
+
+    //where a moving ball touches a wall, reused for every ball
+    private Contact contact = new Contact();
+
+    //bricks hit since hits were last applied, and the ball that hit each;
+    //in order of the balls, as chunks of balls are taken in order
+    private Brick[] hits = new Brick[16];
+    private int[] hitBalls = new int[16];
+    private int numHits;
+    //next hit to apply, while hits are being applied
+    private int nextHit;
+
+    /**
+     * BallMover constructor
+     *
+     * @param balls the balls to move
+     * @param wallGrid the walls and bricks balls can hit
+     */
+    BallMover (BallStore balls, WallGrid wallGrid) {
+        this.balls = balls;
+        this.query = wallGrid.newQuery();
+    }
+
+    /**
+     * @param paddle the paddle balls can hit
+     */
+    void setPaddle (Paddle paddle) {
+        this.paddle = paddle;
+    }
+
+    /**
+     * moves some of the balls
+     *
+     * @param start index of first ball to move
+     * @param end index after last ball to move
+     * @param tickInterval how long to move them for, in millis
+     */
+    void move (int start, int end, int tickInterval) {
+        for(int ball=start; ball < end; ball++) {
+            //move each ball, bouncing it wherever its path touches a wall
+            double timeLeft = tickInterval;
+            for (int i=0; i < MAX_BOUNCES_PER_TICK && timeLeft > 0; i++) {
+                double deltaX = balls.getXSpeed(ball)*timeLeft/1000;
+                double deltaY = balls.getYSpeed(ball)*timeLeft/1000;
+
+                Wall hitWall = findContact(ball, deltaX, deltaY);
+
+                if (hitWall == null) {
+                    balls.translate(ball, deltaX, deltaY);
+                    break;
+                }
+
+                //move ball up to the wall and bounce it there
+                double t = contact.getTime();
+                balls.translate(ball, deltaX*t, deltaY*t);
+                timeLeft -= timeLeft*t;
+
+                boolean didBounce= balls.reflect(ball,
+                        contact.getNormalX(), contact.getNormalY());
+
+                //if we hit a brick
+                if(hitWall instanceof Brick && didBounce){
+                    addHit(ball, (Brick)hitWall);
+                }
+            }
+
+            //the paddle may have moved onto the ball
+            //so check for collision with a wall the ball is already touching
+            Wall hitWall = checkCollision(ball);
+
+            boolean didBounce= false;
+            //if we hit a wall, bounce the ball
+            if (hitWall != null){
+                didBounce= bounceBall(ball,hitWall);
+            }
+
+            //if we hit a brick
+            if(hitWall instanceof Brick && didBounce){
+                addHit(ball, (Brick)hitWall);
+            }
+        }
+    }
+
+    /**
+     * hits every brick recorded as hit by any of the movers, in order of
+     * the balls that hit them, then forgets them; so bricks are hit in
+     * the same order however the balls were shared out between movers
+     *
+     * @param movers the movers that moved the balls this tick
+     * @param bricks the store the bricks are kept in
+     */
+    static void applyHits (BallMover[] movers, BrickStore bricks) {
+        while (true) {
+            //each mover's hits are in ball order, so take the first of them
+            BallMover first = null;
+            for (BallMover mover : movers) {
+                if (mover.nextHit < mover.numHits && (first == null
+                        || mover.hitBalls[mover.nextHit]
+                                < first.hitBalls[first.nextHit])) {
+                    first = mover;
+                }
+            }
+            if (first == null) break;
+
+            bricks.hit(first.hits[first.nextHit]);
+            first.hits[first.nextHit++] = null;
+        }
+        for (BallMover mover : movers) {
+            mover.numHits = 0;
+            mover.nextHit = 0;
+        }
+    }
+
+    /**
+     * records that a brick was hit
+     *
+     * @param ball index of the ball that hit it
+     * @param brick the brick hit
+     */
+    private void addHit (int ball, Brick brick) {
+        if (numHits == hits.length) {
+            hits = Arrays.copyOf(hits, 2*numHits);
+            hitBalls = Arrays.copyOf(hitBalls, 2*numHits);
+        }
+        hitBalls[numHits] = ball;
+        hits[numHits++] = brick;
+    }
+
+    /**
+     * finds the first wall a ball touches along its path
+     *
+     * @param ball index of the ball that is moving
+     * @param deltaX distance ball moves right
+     * @param deltaY distance ball moves down
+     * @return the first wall touched, null if none;
+     *          when and where it is touched is left in contact
+     */
+    private Wall findContact(int ball, double deltaX, double deltaY){
+        double ballX = balls.getX(ball);
+        double ballY = balls.getY(ball);
+        int ballRad = balls.getRadius(ball);
+
+        contact.reset();
+
+        //the paddle moves, so it is not in the wall grid
+        paddle.sweep(ballX, ballY, deltaX, deltaY, ballRad, contact);
+
+        //only walls near the ball's path can be hit
+        int found = query.find(
+                Math.min(ballX, ballX+deltaX) - ballRad,
+                Math.min(ballY, ballY+deltaY) - ballRad,
+                Math.max(ballX, ballX+deltaX) + ballRad,
+                Math.max(ballY, ballY+deltaY) + ballRad);
+        for (int i=0; i < found; i++) {
+            query.getResult(i).sweep(ballX, ballY, deltaX, deltaY,
+                    ballRad, contact);
+        }
+
+        return contact.getWall();
+    }
+
+    /**
+     * checks if ball has hit a wall
+     *
+     * @param ball index of the ball to check
+     * @return the wall that was hit,
+     *          null if no collision
+     */
+    private Wall checkCollision(int ball){
+        //ball's location
+        int ballX = (int) balls.getX(ball);
+        int ballY = (int) balls.getY(ball);
+        int ballRad = balls.getRadius(ball);
+
+
+        //checks if ball hits the paddle
+        if (paddle.isPointWithin(ballX, ballY, ballRad)) {
+            return paddle;
+        }
+
+        //checks if ball hits any wall or brick near it
+        int found = query.find(ballX-ballRad, ballY-ballRad,
+                ballX+ballRad, ballY+ballRad);
+        for (int i=0; i < found; i++) {
+            Wall currWall = query.getResult(i);
+            //if the ball is within the radius of the current wall
+            if (currWall.isPointWithin(ballX, ballY, ballRad)) {
+                //we have found the wall the ball is touching
+                return currWall;
+            }
+        }
+
+        //no wall was hit
+        return null;
+    }
+
+    /**
+     * bounces the ball off wall
+     * @param ball index of the ball to bounce
+     * @param wall the wall to bounce ball off of
+     *
+     * @return whether the ball bounced
+     */
+    private boolean bounceBall(int ball, Wall wall){
+        //the side of the wall that was hit
+        int wallSide= wall.sideClosestTo(
+                (int)balls.getX(ball),(int)balls.getY(ball));
+
+        return bounceBall(ball, wallSide);
+    }
+
+    /**
+     * bounces the ball off a side of a wall
+     * @param ball index of the ball to bounce
+     * @param wallSide the side of the wall the ball hit
+     *
+     * @return whether the ball bounced
+     */
+    private boolean bounceBall(int ball, int wallSide){
+        //reverse the ball's velocity along the normal of the side it hit,
+        //if it is traveling into that side
+        switch (wallSide) {
+            case Wall.LEFTSIDE:
+                return balls.reflect(ball, -1, 0);
+            case Wall.TOPSIDE:
+                return balls.reflect(ball, 0, -1);
+            case Wall.RIGHTSIDE:
+                return balls.reflect(ball, 1, 0);
+            case Wall.BOTTOMSIDE:
+                return balls.reflect(ball, 0, 1);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,298 @@
+package harrison.pong.core;
+
+import java.util.Arrays;
+
+/**
+ * Class BallStore
+ *
+ * holds every ball in play, one array per ball attribute,
+ * so that looping over all balls reads memory in order
+ * a ball is known by its index, which changes when another ball is removed
+ * Able to deal with movement only related to balls
+ * Draws balls onto animation surface
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class BallStore {
+
+    //center location of each ball
+    private double[] x;
+    private double[] y;
+    //center location of each ball before its last move
+    private double[] prevX;
+    private double[] prevY;
+    //velocity of each ball in pixels/sec, right and down
+    private double[] vx;
+    private double[] vy;
+    private int[] radius;
+    private int[] color;
+
+    //number of balls in store
+    private int size;
+
+    /**
+     * BallStore constructor
+     *
+     * @param capacity number of balls to make room for
+     */
+    public BallStore (int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        radius = new int[capacity];
+        color = new int[capacity];
+    }
+
+    /**
+     * @return number of balls in store
+     */
+    public int size () {
+        return size;
+    }
+
+    /**
+     * removes all balls
+     */
+    public void clear () {
+        size = 0;
+    }
+
+    /**
+     * adds a ball
+     *
+     * @param x center coord of ball
+     * @param y center coord of ball
+     * @param rad of ball
+     * @param spd speed ball is traveling
+     * @param dir direction ball is moving in
+     * @param col color of ball
+     * @return index of new ball
+     */
+    public int add (double x, double y, int rad, int spd, double dir, int col) {
+        if (size == this.x.length) {
+            grow();
+        }
+
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.prevX[i] = x;
+        this.prevY[i] = y;
+        this.radius[i] = rad;
+        this.color[i] = col;
+        setVelocity(i, spd, dir);
+        return i;
+    }
+
+    /**
+     * removes a ball by moving the last ball into its place
+     *
+     * @param i index of ball to remove
+     */
+    public void remove (int i) {
+        int last = --size;
+        x[i] = x[last];
+        y[i] = y[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        radius[i] = radius[last];
+        color[i] = color[last];
+    }
+
+    /**
+     * makes the given store hold the same balls as this one,
+     * growing it only if it has too little room
+     *
+     * @param other the store to copy into
+     */
+    public void copyInto (BallStore other) {
+        while (other.x.length < size) {
+            other.grow();
+        }
+
+        System.arraycopy(x, 0, other.x, 0, size);
+        System.arraycopy(y, 0, other.y, 0, size);
+        System.arraycopy(prevX, 0, other.prevX, 0, size);
+        System.arraycopy(prevY, 0, other.prevY, 0, size);
+        System.arraycopy(vx, 0, other.vx, 0, size);
+        System.arraycopy(vy, 0, other.vy, 0, size);
+        System.arraycopy(radius, 0, other.radius, 0, size);
+        System.arraycopy(color, 0, other.color, 0, size);
+        other.size = size;
+    }
+
+    /**
+     * doubles the room for balls
+     */
+    private void grow () {
+        int capacity = Math.max(2*x.length, 1);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        color = Arrays.copyOf(color, capacity);
+    }
+
+    /**
+     * draws all balls, each between where it was before its
+     * last move and where it is now
+     *
+     * @param r renderer with which to draw
+     * @param alpha how far between previous and current location to draw,
+     *              from 0 (previous) to 1 (current)
+     */
+    public void onDraw (Renderer r, float alpha) {
+        for (int i=0; i < size; i++) {
+            double drawX = prevX[i] + (x[i]-prevX[i])*alpha;
+            double drawY = prevY[i] + (y[i]-prevY[i])*alpha;
+            r.fillCircle((float)drawX,(float)drawY,radius[i],color[i]);
+        }
+    }
+
+    /**
+     * remembers where every ball is now as the place it moved from,
+     * to be called before balls are moved each tick
+     */
+    public void savePositions () {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+    }
+
+    /**
+     * moves ball by given distance
+     *
+     * @param i index of ball
+     * @param deltaX distance to move right, in pixels
+     * @param deltaY distance to move down, in pixels
+     */
+    public void translate (int i, double deltaX, double deltaY) {
+        x[i] += deltaX;
+        y[i] += deltaY;
+    }
+
+    /**
+     * @param i index of ball
+     * @return how fast ball is moving right, in pixels/sec
+     */
+    public double getXSpeed (int i) {
+        return vx[i];
+    }
+
+    /**
+     * @param i index of ball
+     * @return how fast ball is moving down, in pixels/sec
+     */
+    public double getYSpeed (int i) {
+        return vy[i];
+    }
+
+    public double getX (int i) {
+        return x[i];
+    }
+
+    public double getY (int i) {
+        return y[i];
+    }
+
+    public int getRadius (int i) {
+        return radius[i];
+    }
+
+    public int getColor (int i) {
+        return color[i];
+    }
+
+    /**
+     * places ball at given x-coord without it appearing to move there
+     * @param i index of ball
+     * @param x the new x-coord of center of ball
+     */
+    public void setX (int i, double x) {
+        this.x[i] = x;
+        this.prevX[i] = x;
+    }
+
+    /**
+     * sets ball's velocity
+     *
+     * @param i index of ball
+     * @param xSpeed pixels/sec right
+     * @param ySpeed pixels/sec down
+     */
+    public void setSpeeds (int i, double xSpeed, double ySpeed) {
+        vx[i] = xSpeed;
+        vy[i] = ySpeed;
+    }
+
+    /**
+     * sets ball's velocity from a speed and direction
+     *
+     * @param i index of ball
+     * @param speed in pixels/sec
+     * @param direction in radians, counterclockwise from right
+     */
+    public void setVelocity (int i, int speed, double direction) {
+        vx[i] = Math.cos(direction)*speed;
+        //minus is since Java's y-axis increases downward
+        vy[i] = -Math.sin(direction)*speed;
+    }
+
+    /**
+     * bounces ball off a surface if it is moving into the surface
+     * by reversing its velocity along the surface's normal
+     *
+     * @param i index of ball
+     * @param normalX x part of surface's unit normal, pointing out
+     * @param normalY y part of surface's unit normal, pointing out
+     * @return whether the ball bounced
+     */
+    public boolean reflect (int i, double normalX, double normalY) {
+        double dot = vx[i]*normalX + vy[i]*normalY;
+        if (dot >= 0) return false; //moving away from surface
+
+        vx[i] -= 2*dot*normalX;
+        vy[i] -= 2*dot*normalY;
+        return true;
+    }
+
+    /**
+     * bounces two balls off each other
+     * @param i index of one ball
+     * @param j index of the other ball
+     */
+    public void bounceOff (int i, int j) {
+        //switch velocities
+
+        double tempX= vx[i];
+        vx[i]= vx[j];
+        vx[j]= tempX;
+
+        double tempY= vy[i];
+        vy[i]= vy[j];
+        vy[j]= tempY;
+    }
+
+    /**
+     *
+     * @param i index of one ball
+     * @param j index of the other ball
+     * @return whether the balls are in contact
+     */
+    public boolean touches (int i, int j) {
+        //compare squared distances to avoid a square root
+        double distX= x[i]-x[j];
+        double distY= y[i]-y[j];
+        int radii= radius[i] + radius[j];
+        return distX*distX + distY*distY <= radii*radii;
+    }
+}
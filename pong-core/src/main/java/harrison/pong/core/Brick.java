@@ -0,0 +1,140 @@
+package harrison.pong.core;
+
+/**
+ * Class Brick
+ *
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class Brick extends Wall {
+
+    //number of hits remaining until brick breaks
+    private int remainingHits;
+    //where the brick is kept in its BrickStore
+    private int index;
+
+    private static final int WHITE = 0xffffffff; //error color
+    private static final int RED = 0xffff0000; //error color
+    private static final int YELLOW = 0xfff7ff09; //1 hit remain
+    private static final int GREEN = 0xff37ff32; //2 hit remain
+    private static final int PURPLE = 0xffce31d7; //3 hit remain
+
+    private static final int OUTLINE_COLOR = 0xff000000; //black outline of each brick
+    static final float OUTLINE_WIDTH = 10.0f;
+
+    //array of possible brick colors
+    private static final int[] colors =
+            {WHITE,YELLOW,GREEN,PURPLE};
+
+    /**
+     * Brick constructor
+     *
+     * @param left   coord of wall
+     * @param top    coord of wall
+     * @param right  coord of wall
+     * @param bottom coord of wall
+     * @param hits number of hits remaining until brick breaks
+     */
+    public Brick(int left, int top, int right, int bottom, int hits) {
+        super(left, top, right, bottom, RED);
+        this.remainingHits = hits;
+        setColor();
+    }
+
+    /**
+     * draws wall onDraw + outline of bricks
+     *
+     * @param r renderer with which to draw
+     */
+    @Override
+    public void onDraw (Renderer r) {
+        super.onDraw(r);
+        r.strokeRect(left,top,right,bottom,OUTLINE_COLOR,OUTLINE_WIDTH);
+    }
+
+    /**
+     * sets color of brick based on how many hits remaining
+     */
+    private void setColor () {
+        if (remainingHits < 0) {//bricks should be destroyed
+            super.setColor(WHITE);
+            return;
+        }
+        if (remainingHits >= colors.length) {//if remaining hits is some unexpected value
+            super.setColor(RED);
+            return;
+        }
+
+        super.setColor(colors[remainingHits]); //sets color of brick
+    }
+
+    /**
+     * @return whether brick can be deleted
+     */
+    public boolean ifBreak () {
+        return (remainingHits < 1);
+    }
+
+    /**
+     * @return number of hits remaining until brick breaks
+     */
+    public int getRemainingHits () {
+        return remainingHits;
+    }
+
+    /**
+     * called when brick is hit; reduces life of brickf
+     *
+     * @return whether this hit broke the brick
+     */
+    public boolean hit () {
+        remainingHits--;
+        setColor();
+        return remainingHits == 0;
+    }
+
+    /**
+     * moves the brick and gives it new hits, so it can be reused
+     * instead of making a new one
+     *
+     * @param left   coord of wall
+     * @param top    coord of wall
+     * @param right  coord of wall
+     * @param bottom coord of wall
+     * @param hits number of hits remaining until brick breaks
+     */
+    void place (int left, int top, int right, int bottom, int hits) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        this.remainingHits = hits;
+        setColor();
+    }
+
+    /**
+     * moves the brick down
+     *
+     * @param distance how far, in pixels
+     */
+    void moveDown (int distance) {
+        top += distance;
+        bottom += distance;
+    }
+
+    /**
+     * @return where the brick is kept in its BrickStore
+     */
+    int getIndex () {
+        return index;
+    }
+
+    /**
+     * @param index where the brick is kept in its BrickStore
+     */
+    void setIndex (int index) {
+        this.index = index;
+    }
+}
@@ -0,0 +1,216 @@
+package harrison.pong.core;
+
+import java.util.Arrays;
+
+/**
+ * Class BrickStore
+ *
+ * keeps track of which bricks are still standing, in a bitset, so the
+ * game only does work for bricks that were hit, never for every brick
+ * every tick; hits left are kept only by each Brick
+ * a brick is known by its index, which never changes until all bricks
+ * are replaced
+ * also counts changes to bricks, so drawings of them know what to update
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class BrickStore {
+
+    //the walls and bricks balls can hit; broken bricks are taken out
+    private WallGrid wallGrid;
+
+    //every brick, even once broken; only the first size are used
+    private Brick[] bricks = new Brick[0];
+    private int size;
+    //one bit for each brick still standing
+    private long[] live = new long[0];
+    private int liveCount;
+    //id of each brick in wallGrid
+    private int[] wallIds = new int[0];
+
+    //version when each brick last changed
+    private int[] changedAt = new int[0];
+    //counts changes to bricks, and times all bricks were replaced
+    private int version;
+    private int layoutVersion;
+
+    //bricks broken since the last call to clearBroken
+    private int[] broken = new int[16];
+    private int numBroken;
+
+    /**
+     * BrickStore constructor
+     *
+     * @param wallGrid the grid to put standing bricks in
+     */
+    public BrickStore (WallGrid wallGrid) {
+        this.wallGrid = wallGrid;
+    }
+
+    /**
+     * replaces all bricks, putting them in the wall grid;
+     * reuses the store's arrays if they are big enough
+     *
+     * @param bricks the new bricks, null where there is none;
+     *               a brick with no hits left counts as broken
+     */
+    public void set (Brick[] bricks) {
+        size = bricks.length;
+        if (this.bricks.length < size) {
+            this.bricks = new Brick[size];
+            live = new long[(size+63)/64];
+            wallIds = new int[size];
+            changedAt = new int[size];
+        }
+        System.arraycopy(bricks, 0, this.bricks, 0, size);
+        Arrays.fill(live, 0);
+        Arrays.fill(changedAt, 0, size, 0);
+        liveCount = 0;
+        numBroken = 0;
+        layoutVersion++;
+
+        for (int i=0; i<bricks.length; i++) {
+            Brick brick = bricks[i];
+            if (brick == null || brick.ifBreak()) continue;
+
+            brick.setIndex(i);
+            live[i>>>6] |= 1L<<i;
+            liveCount++;
+            wallIds[i] = wallGrid.insert(brick);
+        }
+    }
+
+    /**
+     * hits a brick once, breaking it if it has no hits left
+     *
+     * @param brick the brick, one of this store's
+     * @return whether the hit broke the brick
+     */
+    boolean hit (Brick brick) {
+        int i = brick.getIndex();
+        if (!isLive(i)) return false; //already broken this tick
+
+        changedAt[i] = ++version;
+        if (!brick.hit()) return false;
+
+        //broken, so balls can no longer hit it
+        live[i>>>6] &= ~(1L<<i);
+        liveCount--;
+        wallGrid.remove(wallIds[i]);
+
+        if (numBroken == broken.length) {
+            broken = Arrays.copyOf(broken, 2*numBroken);
+        }
+        broken[numBroken++] = i;
+        return true;
+    }
+
+    /**
+     * takes a brick out of the wall grid, before it is moved or replaced;
+     * it is put back with put
+     *
+     * @param i index of the brick
+     */
+    void lift (int i) {
+        if (!isLive(i)) return;
+
+        live[i>>>6] &= ~(1L<<i);
+        liveCount--;
+        wallGrid.remove(wallIds[i]);
+    }
+
+    /**
+     * puts a brick in place of one taken out with lift, where it is now,
+     * without replacing the other bricks
+     *
+     * @param i index of the brick
+     * @param brick the brick; one with no hits left counts as broken
+     */
+    void put (int i, Brick brick) {
+        lift(i);
+        bricks[i] = brick;
+        changedAt[i] = ++version;
+        if (brick == null || brick.ifBreak()) return;
+
+        brick.setIndex(i);
+        live[i>>>6] |= 1L<<i;
+        liveCount++;
+        wallIds[i] = wallGrid.insert(brick);
+    }
+
+    /**
+     * @return number of bricks broken since the last call to clearBroken
+     */
+    int getBrokenCount () {
+        return numBroken;
+    }
+
+    /**
+     * @param n which of the bricks broken since the last clearBroken
+     * @return the index of that brick
+     */
+    int getBroken (int n) {
+        return broken[n];
+    }
+
+    /**
+     * forgets which bricks were broken
+     */
+    void clearBroken () {
+        numBroken = 0;
+    }
+
+    /**
+     * @return number of bricks, broken or not
+     */
+    public int size () {
+        return size;
+    }
+
+    /**
+     * @return number of bricks still standing
+     */
+    public int getLiveCount () {
+        return liveCount;
+    }
+
+    /**
+     * @param i index of a brick
+     * @return whether it is still standing
+     */
+    public boolean isLive (int i) {
+        return (live[i>>>6] & 1L<<i) != 0;
+    }
+
+    /**
+     * @param i index of a brick
+     * @return the brick, even if broken; null if there never was one
+     */
+    public Brick get (int i) {
+        return bricks[i];
+    }
+
+    /**
+     * @param i index of a brick
+     * @return getVersion() when the brick last changed
+     */
+    public int getChangedAt (int i) {
+        return changedAt[i];
+    }
+
+    /**
+     * @return a number that changes whenever a brick changes
+     */
+    public int getVersion () {
+        return version;
+    }
+
+    /**
+     * @return a number that changes whenever all bricks are replaced
+     */
+    public int getLayoutVersion () {
+        return layoutVersion;
+    }
+}
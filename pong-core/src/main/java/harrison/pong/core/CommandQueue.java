@@ -0,0 +1,102 @@
+package harrison.pong.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class CommandQueue
+ *
+ * A fixed-size queue of commands, each packed into a long, that any
+ * number of threads can add to and one thread takes from, without locks
+ * and without making any objects.
+ *
+ * Every slot has a sequence number that says whether it is waiting to be
+ * written or waiting to be read, for which lap around the queue. Adders
+ * claim a slot by moving the tail forward, write the command, then mark
+ * the slot readable; the taker only reads slots marked readable.
+ *
+ * External Citation
+ * Date: 10/18/2026
+ * Problem: controls changed the game while another thread was ticking it
+ * Resource: Vyukov, "Bounded MPMC queue", 1024cores.net
+ * Solution: a ring of slots with per-slot sequence numbers
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class CommandQueue {
+
+    //returned by poll() when there are no commands
+    public static final long EMPTY = 0;
+
+    private final long[] commands;
+    //lap each slot is ready for: index to write, index+1 to read
+    private final AtomicLongArray sequence;
+    private final int mask;
+
+    //next slot to write, shared by all adders
+    private final AtomicLong tail = new AtomicLong();
+    //next slot to read; only used by the taking thread
+    private long head;
+
+    /**
+     * CommandQueue constructor
+     *
+     * @param capacity most commands the queue holds at once;
+     *                 rounded up to a power of two
+     */
+    public CommandQueue (int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        commands = new long[size];
+        sequence = new AtomicLongArray(size);
+        mask = size-1;
+        for (int i=0; i<size; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    /**
+     * adds a command; may be called from any thread
+     *
+     * @param command the command, anything but EMPTY
+     * @return whether it was added; false if the queue is full
+     */
+    public boolean offer (long command) {
+        while (true) {
+            long pos = tail.get();
+            int slot = (int) pos & mask;
+            long diff = sequence.get(slot) - pos;
+
+            if (diff == 0) {
+                //slot is free for this lap, try to claim it
+                if (tail.compareAndSet(pos, pos+1)) {
+                    commands[slot] = command;
+                    sequence.lazySet(slot, pos+1); //publishes the command
+                    return true;
+                }
+            }
+            else if (diff < 0) {
+                //slot still holds a command from the last lap
+                return false;
+            }
+            //else another adder claimed the slot first; try the next one
+        }
+    }
+
+    /**
+     * takes the oldest command; only to be called by one thread
+     *
+     * @return the command, or EMPTY if there are none
+     */
+    public long poll () {
+        int slot = (int) head & mask;
+        if (sequence.get(slot) != head+1) return EMPTY;
+
+        long command = commands[slot];
+        //free the slot for the next lap
+        sequence.lazySet(slot, head+mask+1);
+        head++;
+        return command;
+    }
+}
@@ -0,0 +1,70 @@
+package harrison.pong.core;
+
+/**
+ * Class Contact
+ *
+ * describes where a moving ball first touches a wall
+ * reused from tick to tick to find the earliest collision along a ball's path
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class Contact {
+
+    //fraction of the ball's movement at which it touches the wall, 0 to 1
+    private double time;
+    //unit normal of the wall's surface where it is touched, pointing out;
+    //along a side's normal, unless a corner is touched
+    private double normalX;
+    private double normalY;
+    //the wall that is touched, null if none
+    private Wall wall;
+
+    /**
+     * forgets any contact, so that only contacts along the whole
+     * movement will be found
+     */
+    public void reset () {
+        time = 1;
+        normalX = 0;
+        normalY = 0;
+        wall = null;
+    }
+
+    /**
+     * records a contact if it happens earlier than the one already found
+     *
+     * @param time fraction of movement at which contact happens
+     * @param normalX x part of the unit normal of the surface touched
+     * @param normalY y part of the unit normal of the surface touched
+     * @param wall the wall touched
+     * @return whether the contact was recorded
+     */
+    public boolean offer (double time, double normalX, double normalY,
+                          Wall wall) {
+        if (time >= this.time) return false;
+
+        this.time = time;
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.wall = wall;
+        return true;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public double getNormalX() {
+        return normalX;
+    }
+
+    public double getNormalY() {
+        return normalY;
+    }
+
+    public Wall getWall() {
+        return wall;
+    }
+}
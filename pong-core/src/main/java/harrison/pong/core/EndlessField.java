@@ -0,0 +1,226 @@
+package harrison.pong.core;
+
+import java.util.Arrays;
+
+/**
+ * Class EndlessField
+ *
+ * a field of bricks that never runs out: bricks are made in chunks,
+ * bands a few rows high, each from its own seed, so the same game seed
+ * always gives the same field
+ * the field moves down one chunk at a time; the lowest chunk is dropped
+ * and its bricks reused for a new chunk at the top, so the field holds
+ * the same bricks, and takes the same memory, however long it is played
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+class EndlessField {
+
+    //size of a chunk, in bricks
+    private static final int COLUMNS = 12;
+    private static final int ROWS_PER_CHUNK = 2;
+    private static final int BRICKS_PER_CHUNK = COLUMNS*ROWS_PER_CHUNK;
+    //most hits a brick can need
+    private static final int MAX_HITS = 3;
+
+    //where the field is and how big its bricks are
+    private int left;
+    private int top;
+    private int brickWidth;
+    private int brickHeight;
+    private int chunkHeight;
+    //chunks in the field at once
+    private int numChunks;
+
+    //every brick of the field, one chunk after another
+    private Brick[] pool;
+    //bricks of the field, null where there is no brick or it is broken
+    private Brick[] bricks;
+    //the chunk to drop next
+    private int lowestChunk;
+    //number of chunks made so far
+    private long chunksMade;
+
+    private long seed;
+    private GameRandom random = new GameRandom(0);
+
+    /**
+     * EndlessField constructor
+     *
+     * @param seed of the field; equal seeds give equal fields
+     * @param left coord of the field
+     * @param top coord of the field
+     * @param right coord of the field
+     * @param bottom coord of the field; chunks that pass it are dropped
+     * @param brickHeight height of each brick
+     */
+    EndlessField (long seed, int left, int top, int right, int bottom,
+                  int brickHeight) {
+        this.seed = seed;
+        this.left = left;
+        this.top = top;
+        this.brickWidth = (right-left)/COLUMNS;
+        this.brickHeight = brickHeight;
+        this.chunkHeight = ROWS_PER_CHUNK*brickHeight;
+        this.numChunks = Math.max(1, (bottom-top)/chunkHeight);
+
+        pool = new Brick[numChunks*BRICKS_PER_CHUNK];
+        for (int i=0; i<pool.length; i++) {
+            pool[i] = new Brick(0,0,0,0,0);
+        }
+        bricks = new Brick[pool.length];
+    }
+
+    /**
+     * starts the field over from its first chunk
+     */
+    void reset () {
+        chunksMade = 0;
+        lowestChunk = 0;
+        //the first chunk made is the lowest
+        for (int chunk=0; chunk<numChunks; chunk++) {
+            make(chunk, top + (numChunks-1-chunk)*chunkHeight);
+        }
+    }
+
+    /**
+     * moves every chunk down one, dropping the lowest
+     * and making a new one at the top in its place
+     */
+    void advance () {
+        for (int chunk=0; chunk<numChunks; chunk++) {
+            if (chunk == lowestChunk) continue;
+
+            int start = chunk*BRICKS_PER_CHUNK;
+            for (int i=start; i<start+BRICKS_PER_CHUNK; i++) {
+                pool[i].moveDown(chunkHeight);
+            }
+        }
+
+        make(lowestChunk, top);
+        lowestChunk = (lowestChunk+1) % numChunks;
+    }
+
+    /**
+     * makes the next chunk, reusing the bricks of a chunk no longer needed
+     *
+     * @param chunk which chunk's bricks to reuse
+     * @param y top coord of the new chunk
+     */
+    private void make (int chunk, int y) {
+        //every chunk has its own seed, so it is the same however it is reached
+        random.setSeed(seed ^ chunksMade++);
+
+        int start = chunk*BRICKS_PER_CHUNK;
+        for (int row=0; row<ROWS_PER_CHUNK; row++) {
+            for (int column=0; column<COLUMNS; column++) {
+                int i = start + row*COLUMNS + column;
+                int x = left + column*brickWidth;
+                int brickTop = y + row*brickHeight;
+
+                //about two places in three have a brick
+                int hits = random.nextInt(3) == 0 ? 0 : random.nextInt(MAX_HITS)+1;
+                pool[i].place(x, brickTop, x+brickWidth, brickTop+brickHeight, hits);
+                bricks[i] = hits > 0 ? pool[i] : null;
+            }
+        }
+    }
+
+    /**
+     * carries on a field as it was saved, with no bricks yet;
+     * they are put back with place
+     *
+     * @param chunksMade as given by getChunksMade
+     * @param lowestChunk as given by getLowestChunk
+     */
+    void restore (long chunksMade, int lowestChunk) {
+        this.chunksMade = chunksMade;
+        this.lowestChunk = lowestChunk % numChunks;
+        Arrays.fill(bricks, null);
+    }
+
+    /**
+     * puts back a brick of a saved field
+     *
+     * @param i where the brick is in getBricks()
+     * @param left   coord of brick
+     * @param top    coord of brick
+     * @param right  coord of brick
+     * @param bottom coord of brick
+     * @param hits number of hits remaining until brick breaks
+     * @return the brick
+     */
+    Brick place (int i, int left, int top, int right, int bottom, int hits) {
+        pool[i].place(left, top, right, bottom, hits);
+        bricks[i] = pool[i];
+        return pool[i];
+    }
+
+    /**
+     * leaves a place of the field with no brick
+     *
+     * @param i where the brick is in getBricks()
+     */
+    void clear (int i) {
+        Brick brick = pool[i];
+        brick.place(brick.getLeft(), brick.getTop(), brick.getRight(),
+                brick.getBottom(), 0);
+        bricks[i] = null;
+    }
+
+    /**
+     * @param i a place in getBricks()
+     * @return the brick kept for that place, even when there is no brick
+     *          there, in which case it has no hits left
+     */
+    Brick getSlot (int i) {
+        return pool[i];
+    }
+
+    /**
+     * @param i a place in getBricks()
+     * @return whether the next advance moves it down, rather than drops it
+     */
+    boolean isMoving (int i) {
+        return i/BRICKS_PER_CHUNK != lowestChunk;
+    }
+
+    /**
+     * @param i a place in getBricks()
+     * @return whether it is in the chunk made last
+     */
+    boolean isNewest (int i) {
+        return (i/BRICKS_PER_CHUNK + 1) % numChunks == lowestChunk;
+    }
+
+    /**
+     * @return how far each advance moves the bricks down
+     */
+    int getChunkHeight () {
+        return chunkHeight;
+    }
+
+    /**
+     * @return which chunk will be dropped next
+     */
+    int getLowestChunk () {
+        return lowestChunk;
+    }
+
+    /**
+     * @return the bricks of the field, null where there is no brick;
+     *          the same array every time, set to null where bricks break
+     */
+    Brick[] getBricks () {
+        return bricks;
+    }
+
+    /**
+     * @return number of chunks made since the field started over
+     */
+    long getChunksMade () {
+        return chunksMade;
+    }
+}
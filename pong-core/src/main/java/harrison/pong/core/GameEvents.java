@@ -0,0 +1,132 @@
+package harrison.pong.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Class GameEvents
+ *
+ * Carries events from the thread that ticks a PongGame to a GameListener
+ * on another thread, usually the UI thread, without the ticking thread
+ * ever waiting.
+ *
+ * Only whether each kind of event has happened is kept, plus the latest
+ * score, so many events of one kind between deliveries become one call.
+ * The listener's thread is woken once per batch, not once per event.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class GameEvents {
+
+    //kinds of event
+    public static final int GAME_BEGIN = 0;
+    public static final int BALL_RESTARTED = 1;
+    public static final int SCORE_CHANGED = 2;
+    public static final int GAME_OVER = 3;
+    public static final int BALL_STARTED = 4;
+    private static final int KINDS = 5;
+
+    //one bit for each kind of event not yet delivered
+    private final AtomicInteger pending = new AtomicInteger();
+    //when each kind of event last happened, counted in events
+    private final AtomicIntegerArray postedAt = new AtomicIntegerArray(KINDS);
+    private final AtomicInteger posts = new AtomicInteger();
+
+    private volatile int score;
+
+    //run when events are waiting and none were before
+    private volatile Runnable onPending;
+
+    //kinds of event being delivered, oldest first; only used by deliverTo
+    private int[] order = new int[KINDS];
+
+    /**
+     * sets what to run when events start waiting to be delivered,
+     * usually something that makes the listener's thread call deliverTo
+     * it is run on the ticking thread, so it must not wait
+     *
+     * @param onPending what to run
+     */
+    public void setOnPending(Runnable onPending) {
+        this.onPending = onPending;
+        //events may have happened before anyone was told to deliver them
+        if (pending.get() != 0) {
+            onPending.run();
+        }
+    }
+
+    /**
+     * records that an event happened
+     *
+     * @param kind of event
+     */
+    void post(int kind) {
+        postedAt.set(kind, posts.incrementAndGet());
+
+        int before;
+        do {
+            before = pending.get();
+        } while (!pending.compareAndSet(before, before | 1<<kind));
+
+        Runnable wake = onPending;
+        if (before == 0 && wake != null) {
+            wake.run();
+        }
+    }
+
+    /**
+     * records that the score changed
+     *
+     * @param score the new score
+     */
+    void postScore(int score) {
+        this.score = score;
+        post(SCORE_CHANGED);
+    }
+
+    /**
+     * tells the listener about every kind of event that happened since the
+     * last delivery, once each, in the order they last happened;
+     * to be called on the listener's thread
+     *
+     * @param listener the listener to tell
+     */
+    public void deliverTo(GameListener listener) {
+        int kinds = pending.getAndSet(0);
+
+        //put the kinds of event in the order they last happened
+        int count = 0;
+        for (int kind = 0; kind < KINDS; kind++) {
+            if ((kinds & 1<<kind) == 0) continue;
+
+            int i = count++;
+            while (i > 0 && postedAt.get(order[i-1]) > postedAt.get(kind)) {
+                order[i] = order[i-1];
+                i--;
+            }
+            order[i] = kind;
+        }
+
+        for (int i = 0; i < count; i++) {
+            switch (order[i]) {
+                case GAME_BEGIN:
+                    listener.gameBegin();
+                    break;
+                case BALL_RESTARTED:
+                    listener.ballRestarted();
+                    break;
+                case SCORE_CHANGED:
+                    listener.scoreChanged(score);
+                    break;
+                case GAME_OVER:
+                    listener.gameOver();
+                    break;
+                case BALL_STARTED:
+                    listener.ballStarted();
+                    break;
+            }
+        }
+    }
+}
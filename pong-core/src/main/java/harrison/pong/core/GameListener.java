@@ -0,0 +1,40 @@
+package harrison.pong.core;
+
+/**
+ * Interface GameListener
+ *
+ * told when the state of a PongGame changes, so that controls
+ * can be updated to match; see GameEvents for which thread tells it
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public interface GameListener {
+
+    /**
+     * a new game has begun
+     */
+    void gameBegin();
+
+    /**
+     * the ball went back to its starting position on the paddle
+     */
+    void ballRestarted();
+
+    /**
+     * the ball was launched from the paddle and is in play
+     */
+    void ballStarted();
+
+    /**
+     * the score changed
+     * @param score the new score
+     */
+    void scoreChanged(int score);
+
+    /**
+     * the game is over, either won or lost
+     */
+    void gameOver();
+}
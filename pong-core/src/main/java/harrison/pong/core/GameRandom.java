@@ -0,0 +1,89 @@
+package harrison.pong.core;
+
+/**
+ * Class GameRandom
+ *
+ * a fast random number generator that always gives the same numbers
+ * for the same seed, so a game can be played again exactly
+ *
+ * External Citation
+ * Date: 10/18/2026
+ * Problem: Math.random() cannot be seeded, so games could not be replayed
+ * Resource: Vigna, "An experimental exploration of Marsaglia's xorshift
+ *           generators, scrambled" (xorshift64*); SplitMix64 for seeding
+ * Solution: xorshift64*, with its state made from the seed by SplitMix64
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class GameRandom {
+
+    private long state;
+
+    /**
+     * GameRandom constructor
+     *
+     * @param seed any number; equal seeds give equal numbers
+     */
+    public GameRandom (long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * starts the numbers over, as if newly made with a seed
+     *
+     * @param seed any number; equal seeds give equal numbers
+     */
+    public void setSeed (long seed) {
+        //spread the seed's bits out, so that close seeds differ
+        long z = seed + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        state = z ^ (z >>> 31);
+
+        //xorshift never leaves 0
+        if (state == 0) state = 0x9e3779b97f4a7c15L;
+    }
+
+    /**
+     * @return everything needed to carry on giving the same numbers
+     */
+    long getState () {
+        return state;
+    }
+
+    /**
+     * @param state as given by getState, to carry on from there
+     */
+    void setState (long state) {
+        this.state = state;
+    }
+
+    /**
+     * @return a random long
+     */
+    public long nextLong () {
+        state ^= state >>> 12;
+        state ^= state << 25;
+        state ^= state >>> 27;
+        return state * 0x2545f4914f6cdd1dL;
+    }
+
+    /**
+     * @return a random double from 0 (inclusive) to 1 (exclusive)
+     */
+    public double nextDouble () {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * @param bound one more than the largest number wanted, at least 0
+     * @return a random int from 0 (inclusive) to bound (exclusive),
+     *          or 0 if bound is 0
+     */
+    public int nextInt (int bound) {
+        //scale the top 31 bits into the range
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+}
@@ -0,0 +1,401 @@
+package harrison.pong.core;
+
+/**
+ * Class GameSnapshot
+ *
+ * A copy of everything needed to draw a PongGame as it was after one tick:
+ * balls, walls, bricks, score and lives.
+ * Lets one thread draw the game while another keeps ticking it.
+ * Snapshots are reused, so copying a game into one only makes
+ * new objects when the game has more balls or bricks than before.
+ *
+ * Walls, bricks and the boundary line only change when a brick is hit,
+ * so they can be drawn once onto a layer that is kept between frames,
+ * then only redrawn where bricks changed; see drawStatic.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class GameSnapshot {
+
+    //balls as they were, with where they were before the tick
+    private BallStore balls = new BallStore(16);
+    //walls as they were: left, top, right, paddle
+    private Wall[] walls = new Wall[4];
+    //bricks as they were, in the same places as in the game's array;
+    //only the first brickCount are used
+    private Brick[] bricks = new Brick[0];
+    private boolean[] brickLive = new boolean[0];
+    private int brickCount;
+    //staticVersion when each brick last changed
+    private int[] brickChangedAt = new int[0];
+    //counts changes to bricks, and times all bricks were replaced
+    private int staticVersion;
+    private int layoutVersion;
+
+    private int score;
+    private int livesRemaining;
+    private int bricksRemaining;
+    private boolean gameOver;
+
+    //dimensions of the game
+    private int screenWidth;
+    private int screenHeight;
+    private int wallWidth;
+
+    //System.nanoTime() of when the snapshot was taken
+    private long time;
+
+    //colors used for drawing
+    private static final int TEXT_COLOR = 0xffffffff;
+    private static final int BOUNDARY_COLOR = 0xffffffff;
+    private static final int LIVES_COLOR = 0xff0000ff;
+
+    //text drawn on screen, and the values it was made from
+    private String scoreText;
+    private int scoreTextValue;
+    private String finalScoreText;
+    private int finalScoreValue;
+    private int finalScoreLives;
+    //number of objects made while drawing
+    private int renderAllocations;
+
+    /**
+     * GameSnapshot constructor, for a snapshot of nothing yet
+     */
+    public GameSnapshot (){
+        for (int i=0; i<walls.length; i++) {
+            walls[i] = new Wall(0,0,0,0,0);
+        }
+    }
+
+    /**
+     * copies the game's balls and walls into this snapshot
+     *
+     * @param balls the game's balls
+     * @param walls the game's walls
+     */
+    void set (BallStore balls, Wall[] walls) {
+        balls.copyInto(this.balls);
+
+        for (int i=0; i<walls.length; i++) {
+            this.walls[i].set(walls[i]);
+        }
+    }
+
+    /**
+     * copies the game's bricks into this snapshot; only bricks that changed
+     * since this snapshot was last set are copied, so nothing is copied
+     * when no brick was hit
+     *
+     * @param store the game's bricks
+     */
+    void setBricks (BrickStore store) {
+        boolean newLayout = store.getLayoutVersion() != layoutVersion;
+        if (!newLayout && store.getVersion() == staticVersion) return;
+
+        if (newLayout) {
+            if (bricks.length < store.size()) {
+                growBricks(store.size());
+            }
+            brickCount = store.size();
+        }
+        for (int i=0; i<brickCount; i++) {
+            if (!newLayout && store.getChangedAt(i) <= staticVersion) continue;
+
+            brickLive[i] = store.isLive(i);
+            brickChangedAt[i] = store.getChangedAt(i);
+            //broken bricks keep their shape, so their place can be drawn over
+            if (store.get(i) != null) bricks[i].set(store.get(i));
+        }
+        staticVersion = store.getVersion();
+        layoutVersion = store.getLayoutVersion();
+    }
+
+    /**
+     * copies the game's score and status into this snapshot
+     *
+     * @param score current score
+     * @param livesRemaining lives the player has left
+     * @param bricksRemaining unbroken bricks
+     * @param gameOver whether the game is over
+     */
+    void setStatus (int score, int livesRemaining, int bricksRemaining,
+                    boolean gameOver) {
+        this.score = score;
+        this.livesRemaining = livesRemaining;
+        this.bricksRemaining = bricksRemaining;
+        this.gameOver = gameOver;
+    }
+
+    /**
+     * copies the game's dimensions into this snapshot
+     *
+     * @param screenWidth width of the game
+     * @param screenHeight height of the game
+     * @param wallWidth thickness of the walls
+     */
+    void setSize (int screenWidth, int screenHeight, int wallWidth) {
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.wallWidth = wallWidth;
+    }
+
+    /**
+     * makes room for more bricks
+     * @param count number of bricks to make room for
+     */
+    private void growBricks (int count) {
+        Brick[] grown = new Brick[count];
+        System.arraycopy(bricks, 0, grown, 0, bricks.length);
+        for (int i=bricks.length; i<grown.length; i++) {
+            grown[i] = new Brick(0,0,0,0,0);
+        }
+        bricks = grown;
+        brickLive = new boolean[count];
+        brickChangedAt = new int[count];
+    }
+
+    /**
+     * @param time System.nanoTime() of when the snapshot was taken
+     */
+    public void setTime (long time) {
+        this.time = time;
+    }
+
+    /**
+     * @return System.nanoTime() of when the snapshot was taken
+     */
+    public long getTime () {
+        return time;
+    }
+
+    /**
+     * @return number of balls that were in play
+     */
+    public int getBallCount () {
+        return balls.size();
+    }
+
+    /**
+     * @return whether the game was over
+     */
+    public boolean isGameOver () {
+        return gameOver;
+    }
+
+    /**
+     * @return a number that changes whenever a brick changes
+     */
+    public int getStaticVersion () {
+        return staticVersion;
+    }
+
+    /**
+     * @return a number that changes whenever all bricks are replaced
+     */
+    public int getLayoutVersion () {
+        return layoutVersion;
+    }
+
+    /**
+     * draws the game as it was when the snapshot was taken
+     *
+     * @param c the renderer with which to draw
+     * @param alpha fraction of a tick since the snapshot's tick,
+     *              used to place moving balls between ticks
+     */
+    public void draw (Renderer c, float alpha) {
+        //if the game is over
+        if(gameOver){
+            //draw gameover message
+            drawGameOverMessage(c);
+            //and do nothing else
+            return;
+        }
+
+        drawStatic(c);
+        drawMoving(c, alpha);
+    }
+
+    /**
+     * draws what only changes when a brick is hit:
+     * walls other than the paddle, bricks and the boundary line
+     *
+     * @param c the renderer with which to draw
+     */
+    public void drawStatic (Renderer c) {
+        //draw walls, but not the paddle, which is last
+        for (int i=0; i<walls.length-1; i++) {
+            walls[i].onDraw(c);
+        }
+
+        //draws bricks
+        for (int i=0; i<brickCount; i++) {
+            if (brickLive[i]) bricks[i].onDraw(c);
+        }
+        drawBoundary(c);
+    }
+
+    /**
+     * draws again only around the bricks changed after a given version,
+     * for updating a drawing made by drawStatic; the drawing must be of
+     * a snapshot with the same layout version
+     * bricks that moved must have moved into places other changed bricks
+     * were, as when the endless field moves down a chunk, so where they
+     * were is drawn again too
+     *
+     * @param c the renderer with which to draw
+     * @param version getStaticVersion() of the snapshot last drawn
+     */
+    public void drawStaticChangedSince (Renderer c, int version) {
+        //one area around every changed brick, so everything there is
+        //drawn again once, however many bricks changed
+        int left = Integer.MAX_VALUE;
+        int top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE;
+        int bottom = Integer.MIN_VALUE;
+        for (int i=0; i<brickCount; i++) {
+            if (brickChangedAt[i] <= version) continue;
+
+            Brick brick = bricks[i];
+            left = Math.min(left, brick.getLeft());
+            top = Math.min(top, brick.getTop());
+            right = Math.max(right, brick.getRight());
+            bottom = Math.max(bottom, brick.getBottom());
+        }
+        if (left > right) return;
+
+        //the outline sticks out of the brick by half its width
+        int margin = (int) Math.ceil(Brick.OUTLINE_WIDTH/2);
+        left -= margin;
+        top -= margin;
+        right += margin;
+        bottom += margin;
+
+        //neighbors' outlines may cross the area, so draw everything
+        //there again, but only there
+        c.clipRect(left, top, right, bottom);
+        c.clearRect(left, top, right, bottom);
+        drawStatic(c);
+        c.restoreClip();
+    }
+
+    /**
+     * draws what may change every tick: the paddle, score, lives and balls
+     *
+     * @param c the renderer with which to draw
+     * @param alpha fraction of a tick since the snapshot's tick,
+     *              used to place moving balls between ticks
+     */
+    public void drawMoving (Renderer c, float alpha) {
+        walls[walls.length-1].onDraw(c);
+        drawScore(c);
+
+        balls.onDraw(c,alpha);
+    }
+
+    /**
+     * draws the game over message
+     * @param c the renderer with which to draw the message
+     */
+    private void drawGameOverMessage(Renderer c){
+        int textSize= screenHeight/13;
+
+        c.drawText("Game Over",screenWidth/2,screenHeight/2,
+                textSize,TEXT_COLOR,Renderer.ALIGN_CENTER);
+
+        if(bricksRemaining < 1){ //if the player won
+            //display win message and score
+            c.drawText("You won with score:",
+                    screenWidth/2,screenHeight/2+textSize,
+                    textSize,TEXT_COLOR,Renderer.ALIGN_CENTER);
+            //final score is calculated as number of bricks consequtively destroyed
+            //times a life remaining multiplier
+            c.drawText(finalScoreText(),
+                    screenWidth/2,screenHeight/2+2*textSize,
+                    textSize,TEXT_COLOR,Renderer.ALIGN_CENTER);
+        }
+        else if(livesRemaining < 1){ //if the player lost
+            c.drawText("You lost",
+                    screenWidth/2,screenHeight/2+textSize,
+                    textSize,TEXT_COLOR,Renderer.ALIGN_CENTER);
+        }
+    }
+
+    /**
+     * draws the out of bounds line for balls
+     * @param c the renderer with which to draw
+     */
+    private void drawBoundary (Renderer c) {
+        //the length of each segment of broken line
+        int interval = 25;
+
+        for(int i=0; i <= screenWidth; i+= 2*interval){
+            c.drawLine(i,screenHeight,i+interval,screenHeight,BOUNDARY_COLOR);
+        }
+    }
+
+    /**
+     * draws both score and lives remaining
+     *
+     * @param c renderer with which to draw
+     */
+    private void drawScore(Renderer c){
+        c.drawText(scoreText(),3*wallWidth/2,2*wallWidth,
+                wallWidth,TEXT_COLOR,Renderer.ALIGN_LEFT);
+
+        //radius of balls representing lives remaining
+        int livesRad = screenWidth/102;
+        //draw number of balls to represent lifes remaining
+        for (int i=0; i< livesRemaining; i++) {
+            c.fillCircle(i*7*livesRad/3+2*wallWidth,2*(wallWidth+livesRad),
+                    livesRad,LIVES_COLOR);
+        }
+
+        /**
+         * External citation
+         * Date: 3/16/18
+         * Problem: Wanted to draw the score on the surface
+         * Resource: Android Canvas API, Android Paint API
+         * Solution: drawText(), setTextAlign()
+         */
+    }
+
+    /**
+     * @return the score as text, only remade when the score changes
+     */
+    private String scoreText(){
+        if(scoreText == null || scoreTextValue != score){
+            scoreText= "Score: "+score;
+            scoreTextValue= score;
+            renderAllocations++;
+        }
+        return scoreText;
+    }
+
+    /**
+     * @return the final score calculation as text,
+     *          only remade when score or lives change
+     */
+    private String finalScoreText(){
+        if(finalScoreText == null || finalScoreValue != score
+                || finalScoreLives != livesRemaining){
+            finalScoreText= score+" X "+livesRemaining+" = "+score*livesRemaining;
+            finalScoreValue= score;
+            finalScoreLives= livesRemaining;
+            renderAllocations++;
+        }
+        return finalScoreText;
+    }
+
+    /**
+     * @return how many objects drawing this snapshot has made, such as
+     *          score text; stays the same from frame to frame unless
+     *          the score changes
+     */
+    public int getRenderAllocations(){
+        return renderAllocations;
+    }
+}
@@ -0,0 +1,169 @@
+package harrison.pong.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Class InputRecording
+ *
+ * every input a game was given, with the tick it was run at, the
+ * seed the game started with, and whether it was played on an endless
+ * field; enough to play the game again exactly
+ * with PongGame.replay
+ *
+ * written by the thread that ticks the game, but may be saved from
+ * another thread at any time
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class InputRecording {
+
+    //marks the start of a saved recording, and its version
+    private static final int MAGIC = 0x504f4e47; //"PONG"
+    private static final int VERSION = 2;
+
+    //seed of the game's random numbers
+    private long seed;
+    //number of ticks recorded
+    private long length;
+    //whether the game was played on an endless field
+    private boolean endless;
+
+    //tick each input was run at, and the input as posted to the game
+    private long[] steps = new long[64];
+    private long[] commands = new long[64];
+    private int size;
+
+    /**
+     * InputRecording constructor
+     *
+     * @param seed of the game being recorded
+     */
+    public InputRecording (long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * records an input
+     *
+     * @param step number of ticks before the input was run
+     * @param command the input
+     */
+    synchronized void add (long step, long command) {
+        if (size == steps.length) {
+            steps = Arrays.copyOf(steps, 2*size);
+            commands = Arrays.copyOf(commands, 2*size);
+        }
+        steps[size] = step;
+        commands[size] = command;
+        size++;
+    }
+
+    /**
+     * @param length number of ticks recorded so far
+     */
+    synchronized void setLength (long length) {
+        this.length = length;
+    }
+
+    /**
+     * @param endless whether the game is played on an endless field
+     */
+    synchronized void setEndless (boolean endless) {
+        this.endless = endless;
+    }
+
+    /**
+     * @return whether the game was played on an endless field
+     */
+    public synchronized boolean isEndless () {
+        return endless;
+    }
+
+    /**
+     * @return seed of the game's random numbers
+     */
+    public long getSeed () {
+        return seed;
+    }
+
+    /**
+     * @return number of ticks recorded
+     */
+    public synchronized long getLength () {
+        return length;
+    }
+
+    /**
+     * @return number of inputs recorded
+     */
+    public synchronized int size () {
+        return size;
+    }
+
+    /**
+     * @param i index of input
+     * @return number of ticks before the input was run
+     */
+    synchronized long getStep (int i) {
+        return steps[i];
+    }
+
+    /**
+     * @param i index of input
+     * @return the input
+     */
+    synchronized long getCommand (int i) {
+        return commands[i];
+    }
+
+    /**
+     * saves the recording as it is now
+     *
+     * @param out where to save it
+     * @throws IOException if it could not be written
+     */
+    public synchronized void writeTo (DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(seed);
+        out.writeLong(length);
+        out.writeBoolean(endless);
+        out.writeInt(size);
+        for (int i=0; i<size; i++) {
+            out.writeLong(steps[i]);
+            out.writeLong(commands[i]);
+        }
+    }
+
+    /**
+     * loads a recording saved by writeTo
+     *
+     * @param in where to load it from
+     * @return the recording
+     * @throws IOException if it could not be read or is not a recording
+     */
+    public static InputRecording readFrom (DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a recording");
+        }
+        int version = in.readInt();
+        //version 1 was from before there were endless fields
+        if (version != VERSION && version != 1) {
+            throw new IOException("unknown recording version " + version);
+        }
+
+        InputRecording recording = new InputRecording(in.readLong());
+        recording.setLength(in.readLong());
+        if (version >= 2) recording.setEndless(in.readBoolean());
+        int size = in.readInt();
+        for (int i=0; i<size; i++) {
+            recording.add(in.readLong(), in.readLong());
+        }
+        return recording;
+    }
+}
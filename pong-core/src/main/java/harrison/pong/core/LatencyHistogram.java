@@ -0,0 +1,111 @@
+package harrison.pong.core;
+
+/**
+ * Class LatencyHistogram
+ *
+ * counts how long something took, in nanoseconds, in a fixed number of
+ * buckets, so that recording never makes any objects
+ * buckets are log-linear: each power of two is split into 8 equal
+ * buckets, so any time is known to within 12.5%
+ * recorded by one thread; other threads may read it, but may see
+ * counts a few recordings out of date
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class LatencyHistogram {
+
+    //each power of two is split into 2^SUB_BITS buckets
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1<<SUB_BITS;
+    //enough buckets for any positive long
+    private static final int BUCKETS = (64-SUB_BITS)*SUB;
+
+    private long[] counts = new long[BUCKETS];
+    private long count;
+    private long max;
+
+    /**
+     * counts one time
+     *
+     * @param nanos the time, in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+
+        counts[bucketOf(nanos)]++;
+        count++;
+        if (nanos > max) max = nanos;
+    }
+
+    /**
+     * @param nanos a time
+     * @return the bucket the time is counted in
+     */
+    private static int bucketOf(long nanos) {
+        //small times each get their own bucket
+        if (nanos < 2*SUB) return (int) nanos;
+
+        //otherwise keep the highest SUB_BITS+1 bits
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BITS;
+        int mantissa = (int) (nanos >>> shift);
+        return (shift+1)*SUB + mantissa - SUB;
+    }
+
+    /**
+     * @param bucket a bucket
+     * @return the longest time counted in the bucket
+     */
+    private static long highestIn(int bucket) {
+        if (bucket < 2*SUB) return bucket;
+
+        int shift = bucket/SUB - 1;
+        long mantissa = bucket%SUB + SUB;
+        return ((mantissa+1) << shift) - 1;
+    }
+
+    /**
+     * @param percent of times, from 0 to 100
+     * @return a time that at least that percent of times were no longer
+     *          than, rounded up to the end of its bucket; 0 if none recorded
+     */
+    public long getPercentile(double percent) {
+        if (count == 0) return 0;
+
+        long wanted = Math.max(1, (long) Math.ceil(count*percent/100));
+        long seen = 0;
+        for (int i=0; i<BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= wanted) {
+                return Math.min(highestIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return the longest time recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return how many times were recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * forgets every time recorded
+     */
+    public void reset() {
+        for (int i=0; i<BUCKETS; i++) {
+            counts[i] = 0;
+        }
+        count = 0;
+        max = 0;
+    }
+}
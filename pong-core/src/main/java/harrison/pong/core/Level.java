@@ -0,0 +1,209 @@
+package harrison.pong.core;
+
+import java.io.BufferedReader;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Class Level
+ *
+ * reads and writes brick layouts kept outside the code, so a new level
+ * needs no new code
+ *
+ * a level is stored as a header: "PLVL", version, the width and height
+ * it was made for and the number of bricks; then each brick as left, top,
+ * right and bottom in 16 bits each and hits in 8 bits, 9 bytes a brick
+ * it is read straight from a buffer, usually a file mapped into memory,
+ * into the game's bricks, and stretched to fit the game
+ *
+ * levels are written as text, one thing per line, then compiled:
+ *      # a comment
+ *      size 2550 1300
+ *      brick left top right bottom hits
+ *      row left top brickWidth brickHeight count hits
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class Level {
+
+    //marks the start of a level, and its version
+    private static final int MAGIC = 0x504c564c; //"PLVL"
+    private static final int VERSION = 1;
+    //bytes of the header and of each brick
+    private static final int HEADER_BYTES = 20;
+    private static final int BRICK_BYTES = 9;
+
+    /**
+     * maps a level file into memory, without reading it all first
+     *
+     * @param file the level
+     * @return the level, ready for read
+     * @throws IOException if the file could not be read
+     */
+    public static ByteBuffer load(File file) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = in.getChannel();
+            //the mapping stays valid after the file is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /**
+     * makes the bricks of a level, stretched from the size the level was
+     * made for to the size of the game
+     *
+     * @param level the level, from its start; its position is not changed
+     * @param screenWidth width of the game
+     * @param screenHeight height of the game
+     * @return the bricks
+     * @throws IOException if the buffer does not hold a level
+     */
+    public static Brick[] read(ByteBuffer level, int screenWidth,
+                               int screenHeight) throws IOException {
+        int start = level.position();
+        if (level.remaining() < HEADER_BYTES || level.getInt(start) != MAGIC) {
+            throw new IOException("not a level");
+        }
+        int version = level.getInt(start+4);
+        if (version != VERSION) {
+            throw new IOException("unknown level version " + version);
+        }
+        int width = level.getInt(start+8);
+        int height = level.getInt(start+12);
+        int count = level.getInt(start+16);
+        if (width <= 0 || height <= 0 || count < 0
+                || (long) count*BRICK_BYTES > level.remaining()-HEADER_BYTES) {
+            throw new IOException("level is damaged or cut short");
+        }
+
+        Brick[] bricks = new Brick[count];
+        int at = start+HEADER_BYTES;
+        for (int i=0; i<count; i++) {
+            int left = level.getShort(at) * screenWidth / width;
+            int top = level.getShort(at+2) * screenHeight / height;
+            int right = level.getShort(at+4) * screenWidth / width;
+            int bottom = level.getShort(at+6) * screenHeight / height;
+            int hits = level.get(at+8);
+            bricks[i] = new Brick(left, top, right, bottom, hits);
+            at += BRICK_BYTES;
+        }
+        return bricks;
+    }
+
+    /**
+     * compiles a level written as text into the form read reads
+     *
+     * @param in the text of the level
+     * @param out where to write the level
+     * @throws IOException if in could not be read, has a mistake,
+     *                     or out could not be written to
+     */
+    public static void compile(BufferedReader in, DataOutput out)
+            throws IOException {
+        int width = 0;
+        int height = 0;
+        //left, top, right, bottom and hits of each brick
+        int[] bricks = new int[5*64];
+        int size = 0;
+
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] words = line.split("\\s+");
+            int[] numbers = numbers(words, lineNumber);
+            if (words[0].equals("size") && numbers.length == 2) {
+                width = numbers[0];
+                height = numbers[1];
+            }
+            else if (words[0].equals("brick") && numbers.length == 5) {
+                if (size+5 > bricks.length) {
+                    bricks = Arrays.copyOf(bricks, 2*bricks.length);
+                }
+                System.arraycopy(numbers, 0, bricks, size, 5);
+                size += 5;
+            }
+            else if (words[0].equals("row") && numbers.length == 6) {
+                int count = numbers[4];
+                while (size+5*count > bricks.length) {
+                    bricks = Arrays.copyOf(bricks, 2*bricks.length);
+                }
+                for (int i=0; i<count; i++) {
+                    int left = numbers[0] + i*numbers[2];
+                    bricks[size++] = left;
+                    bricks[size++] = numbers[1];
+                    bricks[size++] = left + numbers[2];
+                    bricks[size++] = numbers[1] + numbers[3];
+                    bricks[size++] = numbers[5];
+                }
+            }
+            else {
+                throw new IOException("line " + lineNumber + ": not understood");
+            }
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IOException("level has no size");
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeInt(size/5);
+        for (int i=0; i<size; i+=5) {
+            for (int j=0; j<4; j++) {
+                check(bricks[i+j], Short.MAX_VALUE, "coord");
+                out.writeShort(bricks[i+j]);
+            }
+            check(bricks[i+4], Byte.MAX_VALUE, "hits");
+            out.writeByte(bricks[i+4]);
+        }
+    }
+
+    /**
+     * @param words the words of a line, the first being what the line is
+     * @param lineNumber which line it is
+     * @return the numbers after the first word
+     * @throws IOException if any is not a number
+     */
+    private static int[] numbers(String[] words, int lineNumber)
+            throws IOException {
+        int[] numbers = new int[words.length-1];
+        try {
+            for (int i=0; i<numbers.length; i++) {
+                numbers[i] = Integer.parseInt(words[i+1]);
+            }
+        }
+        catch (NumberFormatException e) {
+            throw new IOException("line " + lineNumber + ": not a number", e);
+        }
+        return numbers;
+    }
+
+    /**
+     * @param value a number to be written
+     * @param max the most that fits
+     * @param what what the number is, for the message
+     * @throws IOException if it does not fit
+     */
+    private static void check(int value, int max, String what)
+            throws IOException {
+        if (value < 0 || value > max) {
+            throw new IOException(what + " " + value + " does not fit in a level");
+        }
+    }
+}
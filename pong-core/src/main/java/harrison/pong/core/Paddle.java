@@ -1,4 +1,4 @@
-package harrison.pong;
+package harrison.pong.core;
 
 /**
  * Class Paddle
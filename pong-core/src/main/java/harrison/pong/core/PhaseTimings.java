@@ -0,0 +1,92 @@
+package harrison.pong.core;
+
+/**
+ * Class PhaseTimings
+ *
+ * how long each phase of ticking and drawing the game took, so a slow
+ * frame can be blamed on the right phase
+ * the game records its tick phases here; whatever draws the game may
+ * record the drawing phases
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class PhaseTimings {
+
+    //phases of a tick
+    public static final int COMMANDS = 0; //running posted changes
+    public static final int MOVE = 1; //moving and bouncing balls
+    public static final int BRICKS = 2; //removing broken bricks
+    public static final int BOUNDS = 3; //removing balls out of bounds
+    public static final int TICK = 4; //the whole tick
+    //phases of a frame
+    public static final int LOCK = 5; //waiting for a canvas
+    public static final int DRAW = 6; //drawing the game
+    public static final int POST = 7; //handing the canvas to the display
+    public static final int FRAME = 8; //from one frame to the next
+
+    private static final String[] NAMES = {"commands", "move", "bricks",
+            "bounds", "tick", "lock", "draw", "post", "frame"};
+
+    private LatencyHistogram[] histograms = new LatencyHistogram[NAMES.length];
+
+    /**
+     * PhaseTimings constructor
+     */
+    public PhaseTimings() {
+        for (int i=0; i<histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * counts how long a phase took once
+     *
+     * @param phase the phase, such as MOVE
+     * @param nanos how long it took
+     */
+    public void record(int phase, long nanos) {
+        histograms[phase].record(nanos);
+    }
+
+    /**
+     * @param phase the phase, such as MOVE
+     * @return the times recorded for the phase
+     */
+    public LatencyHistogram get(int phase) {
+        return histograms[phase];
+    }
+
+    /**
+     * forgets every time recorded
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * writes a table of every phase that was recorded, one line each,
+     * with times in microseconds, for looking at after a run
+     *
+     * @param out where to write the table
+     * @throws java.io.IOException if out could not be written to
+     */
+    public void writeTo(Appendable out) throws java.io.IOException {
+        out.append(String.format("%-10s %10s %10s %10s %10s %10s%n",
+                "phase", "count", "p50 us", "p95 us", "p99 us", "max us"));
+        for (int i=0; i<histograms.length; i++) {
+            LatencyHistogram histogram = histograms[i];
+            if (histogram.getCount() == 0) continue;
+
+            out.append(String.format("%-10s %10d %10.1f %10.1f %10.1f %10.1f%n",
+                    NAMES[i], histogram.getCount(),
+                    histogram.getPercentile(50)/1000.0,
+                    histogram.getPercentile(95)/1000.0,
+                    histogram.getPercentile(99)/1000.0,
+                    histogram.getMax()/1000.0));
+        }
+    }
+}
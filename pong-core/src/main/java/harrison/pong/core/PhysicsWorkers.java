@@ -0,0 +1,172 @@
+package harrison.pong.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class PhysicsWorkers
+ *
+ * a fixed set of threads that split a job into numbered chunks
+ * the thread that starts a job works on it too, and waits until every
+ * chunk is done; starting a job does not allocate, so it can be
+ * done every tick
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class PhysicsWorkers {
+
+    /**
+     * Interface Job
+     *
+     * work that can be split into chunks
+     */
+    public interface Job {
+        /**
+         * does one chunk of the work
+         *
+         * @param chunk which chunk to do
+         * @param worker which worker is doing it, from 0 to getWorkerCount()-1;
+         *               no two chunks run on the same worker at once
+         */
+        void run(int chunk, int worker);
+    }
+
+    //threads other than the one that starts jobs
+    private Thread[] threads;
+
+    //the current job, published by changing generation
+    private volatile Job job;
+    private volatile int numChunks;
+    private volatile int generation;
+    private volatile Thread starter;
+    private volatile boolean shutdown;
+
+    //next chunk to hand out
+    private AtomicInteger nextChunk = new AtomicInteger();
+    //threads still working on the current job
+    private AtomicInteger busy = new AtomicInteger();
+    //the first error thrown by a thread during the current job
+    private volatile Throwable error;
+
+    /**
+     * PhysicsWorkers constructor
+     *
+     * @param workers number of workers, counting the thread that starts jobs
+     */
+    public PhysicsWorkers (int workers) {
+        threads = new Thread[workers-1];
+        for (int i=0; i < threads.length; i++) {
+            final int worker = i+1;
+            threads[i] = new Thread("PhysicsWorker-"+worker) {
+                @Override
+                public void run() {
+                    workLoop(worker);
+                }
+            };
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * @return number of workers, counting the thread that starts jobs
+     */
+    public int getWorkerCount () {
+        return threads.length+1;
+    }
+
+    /**
+     * does every chunk of a job, returning once all are done
+     *
+     * @param job the job to do
+     * @param chunks number of chunks the job is split into
+     */
+    public void run (Job job, int chunks) {
+        this.job = job;
+        this.numChunks = chunks;
+        this.starter = Thread.currentThread();
+        this.error = null;
+        nextChunk.set(0);
+        busy.set(threads.length);
+
+        //publish the job and wake the threads
+        generation++;
+        for (Thread thread : threads) {
+            LockSupport.unpark(thread);
+        }
+
+        try {
+            work(0);
+        }
+        catch (Throwable t) {
+            error = t;
+            nextChunk.set(chunks);
+        }
+
+        //wait until every thread is done with this job,
+        //so none can still be working on it when the next one starts
+        while (busy.get() > 0) {
+            LockSupport.park(this);
+        }
+
+        this.job = null;
+        if (error != null) {
+            throw new RuntimeException("physics job failed", error);
+        }
+    }
+
+    /**
+     * stops the threads once they finish what they are doing
+     */
+    public void shutdown () {
+        shutdown = true;
+        for (Thread thread : threads) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * what each thread does: waits for a job, helps with it, and repeats
+     *
+     * @param worker number of this worker
+     */
+    private void workLoop (int worker) {
+        int seen = 0;
+        while (true) {
+            while (generation == seen && !shutdown) {
+                LockSupport.park(this);
+            }
+            if (shutdown) return;
+            seen = generation;
+
+            try {
+                work(worker);
+            }
+            catch (Throwable t) {
+                error = t;
+                //let the other workers finish quickly
+                nextChunk.set(numChunks);
+            }
+
+            if (busy.decrementAndGet() == 0) {
+                LockSupport.unpark(starter);
+            }
+        }
+    }
+
+    /**
+     * does chunks of the current job until there are none left
+     *
+     * @param worker number of the worker doing them
+     */
+    private void work (int worker) {
+        Job job = this.job;
+        int chunks = numChunks;
+        int chunk;
+        while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+            job.run(chunk, worker);
+        }
+    }
+}
@@ -0,0 +1,1416 @@
+package harrison.pong.core;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class PongGame
+ *
+ * Includes all functionalities of Pong game dealing with
+ * ball, walls, including paddle, and controls.
+ * Draws itself through a Renderer and is told about touches and
+ * controls by its owner, so it does not depend on Android.
+ * Only the thread that ticks the game may call its methods, except for
+ * isGameOver, getEvents, getTouches and the post methods, which other
+ * threads use to ask for changes.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class PongGame {
+
+    //array of walls: left, top, right
+    private Wall[] walls = new Wall[4];
+    static final int LEFT = 0;
+    static final int TOP = 1;
+    static final int RIGHT = 2;
+    static final int PADDLE = 3;
+
+    //the array of bricks for brick breaker
+    private Brick[] bricks;
+    //the level every new game starts with, or null for the default one
+    private ByteBuffer level;
+    //bricks that never run out, or null if not playing endlessly
+    private EndlessField endless;
+    //ticks with the ball in play since the endless field last moved
+    private int ticksSinceAdvance;
+    //ticks with the ball in play between moves of the endless field
+    private static final int ADVANCE_TICKS = 1500;
+    //most ticks the field waits after that for balls to get out of the
+    //way, before it moves anyway and leaves out bricks that land on them
+    private static final int MAX_ADVANCE_WAIT = 500;
+    //which bricks are standing and how many hits each has left
+    private BrickStore brickStore;
+    //finds bricks near balls when the endless field is about to advance
+    private WallGrid.Query fieldQuery;
+    //finds which walls and bricks are near a ball
+    private WallGrid wallGrid;
+
+    private Paddle paddle; //just a reference to the paddle in walls[PADDLE]
+    //all balls in play
+    private BallStore balls= new BallStore(16);
+
+    //whether ball is in play
+    private boolean ballInPlay;
+    //whether the game is over; read by other threads
+    private volatile boolean gameOver;
+
+    //screen dimensions
+    private int screenWidth;
+    private int screenHeight;
+    private int wallWidth;
+    private int ballRad= 45;
+
+    private int score; //number of times ball hits paddle
+    private int livesRemaining; //initial amount of lives given
+
+    private int tickInterval = 10;
+
+    //random numbers for ball speeds, directions and colors
+    private long seed;
+    private GameRandom random;
+    //number of ticks so far
+    private long step;
+    //where inputs are recorded, or null
+    private InputRecording recording;
+    //inputs being played again instead of posted ones, or null
+    private InputRecording replaying;
+    private int replayIndex;
+
+    //moves balls; one for each physics worker
+    private BallMover[] movers;
+    //threads that move balls at the same time, null if only this one does
+    private PhysicsWorkers workers;
+    //fewest balls worth splitting between threads
+    private static final int PARALLEL_MIN_BALLS = 512;
+    //number of balls each thread takes at a time
+    private static final int BALLS_PER_CHUNK = 128;
+    //moves one chunk of balls
+    private PhysicsWorkers.Job moveJob = new PhysicsWorkers.Job() {
+        @Override
+        public void run(int chunk, int worker) {
+            int start = chunk*BALLS_PER_CHUNK;
+            int end = Math.min(start+BALLS_PER_CHUNK, balls.size());
+            movers[worker].move(start, end, tickInterval);
+        }
+    };
+    //finds which balls are near each other
+    private BallGrid ballGrid;
+
+    //copy of the game drawn by draw(), for drawing on the ticking thread
+    private GameSnapshot drawSnapshot = new GameSnapshot();
+
+    //changes asked for by other threads, run at the start of each tick
+    private CommandQueue commands = new CommandQueue(256);
+    //kinds of command, kept in the top byte of each command
+    private static final int NEW_GAME = 1;
+    private static final int START_OR_RESET_BALL = 2;
+    private static final int ADD_BALL = 3;
+    private static final int PADDLE_SIZE = 4;
+    private static final int MOVE_PADDLE = 5;
+    private static final int SAVE = 6;
+
+    //a save asked for and not yet done, and where to save to and tell
+    private AtomicBoolean savePosted = new AtomicBoolean();
+    private volatile ByteBuffer saveBuffer;
+    private volatile SaveListener saveListener;
+    //marks the start of a saved state, and its version
+    private static final int SAVE_MAGIC = 0x50534156; //"PSAV"
+    private static final int SAVE_VERSION = 1;
+    //bytes each ball takes in a saved state, and the fewest each brick does
+    private static final int SAVED_BALL_BYTES = 40;
+    private static final int SAVED_BRICK_BYTES = 4;
+
+    //touch samples from the thread that gets touches
+    private TouchTracker touches = new TouchTracker();
+    //how far ahead of a tick to guess where the finger is, so the paddle
+    //is drawn where the finger is when the tick reaches the screen:
+    //about a tick of drawing between ticks, plus a frame or so
+    private static final long TOUCH_LOOKAHEAD = 25000000L;
+    //whether the paddle was last put where the finger was guessed to be
+    private boolean touchPredicted;
+    //whether the paddle moves by itself
+    private boolean autopilot;
+
+    //how long each phase of ticking took
+    private PhaseTimings timings = new PhaseTimings();
+
+    //tells the controls when the game changes, on their own thread
+    private GameEvents events = new GameEvents();
+
+    /**
+     * PongGame constructor, for a game different every time
+     */
+    public PongGame (){
+        this(System.nanoTime());
+    }
+
+    /**
+     * PongGame constructor, for a game that is the same every time
+     * it is given the same seed and the same inputs
+     *
+     * @param seed of the game's random numbers
+     */
+    public PongGame (long seed){
+        this.seed = seed;
+        random = new GameRandom(seed);
+
+        screenWidth = 2550;
+        screenHeight = 1300;
+        wallWidth = screenHeight/20;
+        ballGrid = new BallGrid(screenWidth, screenHeight, 2*ballRad);
+        wallGrid = new WallGrid(screenWidth, screenHeight, 4*wallWidth);
+        brickStore = new BrickStore(wallGrid);
+        fieldQuery = wallGrid.newQuery();
+        movers = new BallMover[] {new BallMover(balls, wallGrid)};
+
+        startNewGame();
+    }
+
+    /**
+     * initializes all things nessesary to start a new game
+     */
+    public void startNewGame(){
+        balls.clear();
+
+        int wallColor = 0xff555555;
+
+        paddle= new Paddle (screenWidth/2, screenHeight-wallWidth,
+                screenWidth/2+300,screenHeight, 0xffff0000);
+
+        walls[LEFT] =
+                new Wall(0,wallWidth,
+                        wallWidth,screenHeight,wallColor);
+        walls[TOP] =
+                new Wall(wallWidth,0,
+                        screenWidth-wallWidth,wallWidth,wallColor);
+        walls[RIGHT] =
+                new Wall(screenWidth-wallWidth,wallWidth,
+                        screenWidth,screenHeight,wallColor);
+
+        walls[PADDLE] = paddle;
+        for (BallMover mover : movers) {
+            mover.setPaddle(paddle);
+        }
+
+
+        initBricks(); //creates bricks
+        initWallGrid();
+
+        balls.add(paddle.getCenterX(),paddle.getTop()-ballRad,
+                ballRad,0,0,0xff0000ff);
+
+        ballInPlay = false;
+        gameOver= false;
+        events.post(GameEvents.GAME_BEGIN);
+        score= 0;
+        events.postScore(score);
+        livesRemaining= 3;
+    }
+
+    /**
+     * copies what is needed to draw the game into a snapshot,
+     * so that another thread can draw it while the game keeps ticking
+     *
+     * @param snapshot the snapshot to copy into
+     */
+    public void copyTo(GameSnapshot snapshot){
+        snapshot.set(balls, walls);
+        snapshot.setBricks(brickStore);
+        snapshot.setStatus(score, livesRemaining, brickStore.getLiveCount(),
+                gameOver);
+        snapshot.setSize(screenWidth, screenHeight, wallWidth);
+    }
+
+    /**
+     * @return how many objects drawing has made, such as score text;
+     *          stays the same from frame to frame unless the score changes
+     */
+    public int getRenderAllocations(){
+        return drawSnapshot.getRenderAllocations();
+    }
+
+    /**
+     * @return how long each phase of ticking took; whatever draws the game
+     *          may record its drawing phases here too
+     */
+    public PhaseTimings getTimings () {
+        return timings;
+    }
+
+    /**
+     * @return the events of this game, for the controls to be told about
+     */
+    public GameEvents getEvents () {
+        return events;
+    }
+
+    /**
+     * Initializes bricks, from the endless field or the level if there is one
+     */
+    private void initBricks () {
+        if (endless != null) {
+            endless.reset();
+            ticksSinceAdvance = 0;
+            bricks = endless.getBricks();
+            return;
+        }
+        if (level != null) {
+            try {
+                bricks = Level.read(level, screenWidth, screenHeight);
+                return;
+            }
+            catch (IOException e) {
+                //cannot happen, the level was read when it was set
+                throw new IllegalStateException(e);
+            }
+        }
+
+        bricks = new Brick[18];
+
+        //size of each brick
+        int w= screenWidth/8;
+        int h= screenHeight/14;
+        //top-left coord of each brick
+        int x= screenWidth/2 - 3*w;
+        int y= 2*wallWidth;
+
+        int index= 0;
+
+        //determines how many hits required to break brick in the row
+        for (int i=0; i<4; i++) {
+            int hits= 0;
+            switch(i){
+                case 0:
+                case 3:
+                    hits= 3;
+                    break;
+                case 1:
+                    hits= 2;
+                    break;
+                case 2:
+                    hits= 1;
+                    break;
+            }
+
+            int bricksInRow= 6-i;
+
+            initBrickRow(x+i*w/2, y+i*h, w, h, bricksInRow, hits, index);
+
+            //increment where row should start
+            index+= bricksInRow;
+        }
+    }
+
+    /**
+     * puts walls that do not move and all bricks in the wall grid
+     */
+    private void initWallGrid () {
+        wallGrid.clear();
+
+        wallGrid.insert(walls[LEFT]);
+        wallGrid.insert(walls[TOP]);
+        wallGrid.insert(walls[RIGHT]);
+
+        brickStore.set(bricks);
+    }
+
+    /**
+     * initializes a row of bricks
+     *
+     * @param x left-coord of this row
+     * @param y top-coord of this row
+     * @param width of each brick
+     * @param height of each brick
+     * @param numBricks number of bricks in row
+     * @param hits to initialize bricks with
+     * @param index starting index in brick array that this row is initializing
+     */
+    private void initBrickRow (int x, int y, int width, int height,
+                               int numBricks, int hits, int index) {
+
+        //bottom of bricks all the same
+        int bottom = y+height;
+
+        for (int i=0; i<numBricks; i++) {
+            int left = x+i*width;
+            int right = left+width;
+
+            bricks[index+i] = new Brick(left,y,right,bottom,hits);
+        }
+    }
+
+    /**
+     * @return how many millis of game time each tick moves the game forward
+     */
+    public int getTickInterval() {
+        return tickInterval;
+    }
+
+    /**
+     * moves the game forward by one tick interval
+     */
+    public void tick() {
+        long start = System.nanoTime();
+        runCommands();
+        followTouches(start);
+        if (autopilot) steer();
+        step++;
+        if (recording != null) recording.setLength(step);
+        long time = lap(PhaseTimings.COMMANDS, start);
+
+        //if the game is over or ball not in play, we don't need to do anything
+        if(gameOver || !ballInPlay) return;
+
+        ballMovement();
+        time = lap(PhaseTimings.MOVE, time);
+
+        removeBrokenBricks();
+        if (endless != null) advanceField();
+        time = lap(PhaseTimings.BRICKS, time);
+
+        boolean inBounds = ballInBounds();
+        lap(PhaseTimings.BOUNDS, time);
+
+        //if there are no balls in bounds
+        if (!inBounds) {
+
+            //restart the ball at starting position
+            restartBall();
+            //they lose a life
+            livesRemaining--;
+        }
+
+        //check if game over
+        if (livesRemaining < 1
+                || (endless == null && brickStore.getLiveCount() < 1)) { //if game should be over
+            gameOver= true;
+            events.post(GameEvents.GAME_OVER);
+        }
+
+        lap(PhaseTimings.TICK, start);
+    }
+
+    /**
+     * records how long a phase of the tick took
+     *
+     * @param phase the phase that just finished
+     * @param start System.nanoTime() when the phase started
+     * @return System.nanoTime() now, when the next phase starts
+     */
+    private long lap(int phase, long start) {
+        long now = System.nanoTime();
+        timings.record(phase, now-start);
+        return now;
+    }
+
+    /**
+     * draws the game as it is now; only to be called on the thread
+     * that ticks the game, other threads should draw a snapshot
+     *
+     * @param renderer the renderer with which to draw
+     * @param alpha fraction of a tick since the last tick
+     */
+    public void draw(Renderer renderer, float alpha) {
+        copyTo(drawSnapshot);
+        drawSnapshot.draw(renderer, alpha);
+    }
+
+    /**
+     * does ball movement such as
+     * moving balls and
+     * checking for bounces
+     */
+    private void ballMovement(){
+
+        balls.savePositions();
+
+        //move each ball, bouncing it off walls and bricks
+        int numBalls = balls.size();
+        if (workers != null && numBalls >= PARALLEL_MIN_BALLS) {
+            int chunks = (numBalls + BALLS_PER_CHUNK-1)/BALLS_PER_CHUNK;
+            workers.run(moveJob, chunks);
+        }
+        else {
+            movers[0].move(0, numBalls, tickInterval);
+        }
+
+        //only hit bricks once all balls have moved, in order of the balls
+        //that hit them rather than of the threads that moved those balls,
+        //since chunks go to whichever thread is free first; so balls move
+        //the same however many threads move them
+        BallMover.applyHits(movers, brickStore);
+
+        //check if any ball should bounce off any other
+        ballGrid.build(balls);
+        ballGrid.bounceTouchingBalls(balls);
+    }
+
+    /**
+     * removes bricks broken this tick from array and scores them;
+     * only looks at bricks that broke, not at every brick
+     */
+    private void removeBrokenBricks(){
+        int numBroken = brickStore.getBrokenCount();
+        for (int n=0; n<numBroken; n++) {
+            bricks[brickStore.getBroken(n)] = null; //deletes brick from array
+            score++;
+            events.postScore(score);
+        }
+        brickStore.clearBroken();
+    }
+
+    /**
+     * moves the endless field down a chunk every so often,
+     * or at once if every brick is broken
+     */
+    private void advanceField(){
+        if (++ticksSinceAdvance < ADVANCE_TICKS
+                && brickStore.getLiveCount() > 0) return;
+
+        //wait until no brick would be moved onto a ball, but not for ever
+        boolean waitedLongest =
+                ticksSinceAdvance >= ADVANCE_TICKS + MAX_ADVANCE_WAIT;
+        if (!waitedLongest && fieldWouldHitBall()) return;
+
+        ticksSinceAdvance = 0;
+        //only the field's bricks change, so the walls stay in the grid
+        Brick[] field = endless.getBricks();
+        for (int i=0; i<field.length; i++) {
+            brickStore.lift(i);
+        }
+        endless.advance();
+        for (int i=0; i<field.length; i++) {
+            //new bricks are left out where a ball already is, as are
+            //moved ones if the field stopped waiting for balls to move;
+            //like bricks moved off the bottom, they are not scored
+            if (field[i] != null && (endless.isNewest(i) || waitedLongest)
+                    && onBall(field[i])) {
+                endless.clear(i);
+            }
+            brickStore.put(i, endless.getSlot(i));
+        }
+    }
+
+    /**
+     * @return whether advancing the field now would move a standing brick
+     *          onto a ball
+     */
+    private boolean fieldWouldHitBall(){
+        int distance = endless.getChunkHeight();
+        for (int i=0; i<balls.size(); i++) {
+            int x = (int) balls.getX(i);
+            //where the ball is, seen from where the bricks are now
+            int y = (int) balls.getY(i) - distance;
+            int rad = balls.getRadius(i);
+
+            int found = fieldQuery.find(x-rad, y-rad, x+rad, y+rad);
+            for (int k=0; k<found; k++) {
+                Wall wall = fieldQuery.getResult(k);
+                if (!(wall instanceof Brick)) continue;
+
+                Brick brick = (Brick) wall;
+                if (endless.isMoving(brick.getIndex())
+                        && brick.isPointWithin(x, y, rad)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param brick a brick
+     * @return whether any ball overlaps it
+     */
+    private boolean onBall(Brick brick){
+        for (int i=0; i<balls.size(); i++) {
+            if (brick.isPointWithin((int) balls.getX(i), (int) balls.getY(i),
+                    balls.getRadius(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * checks if balls are in bounds
+     * removes balls not in bounds
+     *
+     * @return whether thre is at least one ball in bounds
+     */
+    private boolean ballInBounds () {
+        //whether we have seen an inbounds ball
+        boolean hasInBounds= false;
+
+        int ball= 0;
+        while(ball < balls.size()){
+            if(balls.getY(ball) < screenHeight+balls.getRadius(ball)){
+                hasInBounds= true;
+                ball++;
+            }
+            else{ //the ball is out of bounds
+                //the last ball takes its place, so check this index again
+                balls.remove(ball);
+            }
+        }
+
+        return hasInBounds;
+    }
+
+    /**
+     * places ball back in starting position
+     */
+    private void restartBall () {
+        balls.clear();
+
+        balls.add(paddle.getCenterX(),paddle.getTop()-ballRad,
+                ballRad,0,0,0xff0000ff);
+
+        ballInPlay = false;
+        score= 0;
+        events.postScore(score);
+
+        events.post(GameEvents.BALL_RESTARTED);
+    }
+
+    /**
+     * if ball is dead, starts game
+     * if ball is live, restarts game
+     *
+     * @param minSpeed that player wants
+     * @param maxSpeed that player wants
+     *
+     * @return whether the game was started (T) or restarted (F)
+     */
+    public boolean startOrResetBall(int minSpeed, int maxSpeed) {
+        if (ballInPlay) {
+            restartBall();
+            return false;
+        }
+
+        startBall(minSpeed, maxSpeed);
+        return true;
+    }
+
+    /**
+     * sets random speed and direction of starting ball
+     *
+     * @param minSpeed
+     * @param maxSpeed
+     */
+    public void startBall (int minSpeed, int maxSpeed) {
+        assert balls.size() == 1;
+
+        ballInPlay = true;
+
+        //set random speed
+        int spd = random.nextInt(maxSpeed-minSpeed)+minSpeed;
+
+        //set random direction
+        double minDir = Math.PI/6;
+        double maxDir = 5*Math.PI/6;
+        double dir = random.nextDouble()*(maxDir-minDir)+minDir;
+        balls.setVelocity(0, spd, dir);
+
+        events.post(GameEvents.BALL_STARTED);
+    }
+
+    /**
+     *adds a ball to play
+     *
+     * @param minSpeed
+     * @param maxSpeed
+     */
+    public void addBall (int minSpeed, int maxSpeed) {
+        if (!ballInPlay) return;
+
+        //find random speed and direction
+        int spd = random.nextInt(maxSpeed-minSpeed)+minSpeed;
+        double minDir = Math.PI/6;
+        double maxDir = 5*Math.PI/6;
+        double dir = random.nextDouble()*(maxDir-minDir)+minDir;
+
+        //find random color for new ball
+        int r= random.nextInt(256);
+        int g= random.nextInt(256);
+        int b= random.nextInt(256);
+        int ballColor= 0xff000000 | r<<16 | g<<8 | b;
+
+        //make new ball and add it
+        balls.add(paddle.getCenterX(),paddle.getTop()-ballRad,ballRad,
+                spd,dir,ballColor);
+    }
+
+    /**
+     * moves paddle to where the player touched;
+     * if ball is not in play, it moves along with paddle
+     *
+     * @param x coord of touch
+     */
+    public void onTouch(int x) {
+        movePaddle(x);
+        if (!ballInPlay) {
+            assert balls.size() == 1;
+
+            balls.setX(0, paddle.getCenterX());
+        }
+    }
+
+    /**
+     * moves paddle according to right and left boundaries
+     * @param x coord of where we want to move paddle
+     */
+    public void movePaddle (int x) {
+        paddle.setCenterX(x);
+        checkPaddleToWall();
+    }
+
+    /**
+     * checks if paddle is touching or past any wall
+     * if so, moves paddle within wall boundaries
+     * @return whether paddle had to move
+     */
+    private boolean checkPaddleToWall () {
+        //these are boundaries that paddle is allowed to be within
+        int leftBoundary = walls[LEFT].getRight();
+        int rightBoundary = walls[RIGHT].getLeft();
+        //make sure paddle is in bounds
+
+        if (paddle.getLeft() < leftBoundary) {
+            paddle.setLeft(leftBoundary);
+            return true;
+        }
+        if (paddle.getRight() > rightBoundary) {
+            paddle.setRight(rightBoundary);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * if ball is out of play, the paddle size will change
+     *
+     * @param paddleSize the new size of paddle
+     * @return whether the size was changed
+     */
+    public boolean changePaddleSize(int paddleSize){
+        if(ballInPlay) return false;
+
+        assert balls.size() == 1;
+
+        paddle.setWidth(paddleSize);
+        //makes sure paddle does not pass wall boundary
+        if (checkPaddleToWall()) {
+            //if paddle moved, ball should follow
+            balls.setX(0, paddle.getCenterX());
+        }
+        return true;
+    }
+
+    /**
+     * asks for a new game to start at the next tick;
+     * may be called from any thread
+     *
+     * @return whether it was asked; false if too many changes are waiting
+     */
+    public boolean postNewGame(){
+        return commands.offer(command(NEW_GAME, 0, 0));
+    }
+
+    /**
+     * asks for startOrResetBall at the next tick;
+     * may be called from any thread
+     *
+     * @param minSpeed that player wants
+     * @param maxSpeed that player wants
+     * @return whether it was asked; false if too many changes are waiting
+     */
+    public boolean postStartOrResetBall(int minSpeed, int maxSpeed){
+        return commands.offer(command(START_OR_RESET_BALL, minSpeed, maxSpeed));
+    }
+
+    /**
+     * asks for addBall at the next tick;
+     * may be called from any thread
+     *
+     * @param minSpeed that player wants
+     * @param maxSpeed that player wants
+     * @return whether it was asked; false if too many changes are waiting
+     */
+    public boolean postAddBall(int minSpeed, int maxSpeed){
+        return commands.offer(command(ADD_BALL, minSpeed, maxSpeed));
+    }
+
+    /**
+     * asks for changePaddleSize at the next tick;
+     * may be called from any thread
+     *
+     * @param paddleSize the new size of paddle
+     * @return whether it was asked; false if too many changes are waiting
+     */
+    public boolean postPaddleSize(int paddleSize){
+        return commands.offer(command(PADDLE_SIZE, 0, paddleSize));
+    }
+
+    /**
+     * asks for onTouch at the next tick;
+     * may be called from any thread
+     *
+     * @param x coord of touch
+     * @return whether it was asked; false if too many changes are waiting
+     */
+    public boolean postTouch(int x){
+        return commands.offer(command(MOVE_PADDLE, 0, x));
+    }
+
+    /**
+     * asks for the game's state to be saved at the next tick, as with
+     * saveState, so it can be saved while the game keeps ticking;
+     * may be called from any thread
+     *
+     * @param buffer where to save it, reused if big enough; may be null
+     * @param listener told, on the ticking thread, once it is saved
+     * @return whether it was asked; false if a save is already waiting
+     *          or too many changes are waiting
+     */
+    public boolean postSave(ByteBuffer buffer, SaveListener listener){
+        if (!savePosted.compareAndSet(false, true)) return false;
+
+        saveBuffer = buffer;
+        saveListener = listener;
+        if (!commands.offer(command(SAVE, 0, 0))) {
+            savePosted.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return whether a save asked for with postSave is yet to be done
+     */
+    public boolean isSavePending(){
+        return savePosted.get();
+    }
+
+    /**
+     * does the save asked for by postSave
+     */
+    private void runSave(){
+        //a recording being replayed may hold saves asked for back then
+        if (replaying != null) return;
+
+        ByteBuffer buffer = saveBuffer;
+        SaveListener listener = saveListener;
+        saveBuffer = null;
+        saveListener = null;
+        savePosted.set(false);
+
+        listener.saved(saveState(buffer));
+    }
+
+    /**
+     * packs a command into a long
+     *
+     * @param kind of command, never 0
+     * @param a first argument, must fit in 24 bits
+     * @param b second argument
+     * @return the command
+     */
+    private static long command(int kind, int a, int b){
+        return (long)kind<<56 | (long)(a & 0xffffff)<<32 | (b & 0xffffffffL);
+    }
+
+    /**
+     * takes the next change to run this tick, from the recording being
+     * replayed if there is one, else from those posted;
+     * records it if recording
+     *
+     * @return the change, or CommandQueue.EMPTY if there are no more
+     */
+    private long nextCommand(){
+        if (replaying != null) {
+            if (replayIndex < replaying.size()
+                    && replaying.getStep(replayIndex) == step) {
+                return replaying.getCommand(replayIndex++);
+            }
+            return CommandQueue.EMPTY;
+        }
+
+        long command = commands.poll();
+        if (command != CommandQueue.EMPTY && recording != null) {
+            recording.add(step, command);
+        }
+        return command;
+    }
+
+    /**
+     * runs every change asked for since the last tick, in the order asked;
+     * of many paddle sizes or touches in a row, only the last is run
+     */
+    private void runCommands(){
+        //latest paddle size and touch not yet run, -1 if none
+        int paddleSize = -1;
+        boolean touched = false;
+        int touchX = 0;
+
+        long command;
+        while ((command = nextCommand()) != CommandQueue.EMPTY) {
+            int kind = (int)(command >>> 56);
+            int a = (int)(command >>> 32) & 0xffffff;
+            int b = (int)command;
+
+            if (kind == PADDLE_SIZE) {
+                paddleSize = b;
+                continue;
+            }
+            if (kind == MOVE_PADDLE) {
+                touched = true;
+                touchX = b;
+                continue;
+            }
+
+            //anything else must see the paddle as it was asked to be
+            if (paddleSize >= 0) changePaddleSize(paddleSize);
+            if (touched) onTouch(touchX);
+            paddleSize = -1;
+            touched = false;
+
+            switch (kind) {
+                case NEW_GAME:
+                    startNewGame();
+                    break;
+                case START_OR_RESET_BALL:
+                    startOrResetBall(a, b);
+                    break;
+                case ADD_BALL:
+                    addBall(a, b);
+                    break;
+                case SAVE:
+                    runSave();
+                    break;
+            }
+        }
+
+        if (paddleSize >= 0) changePaddleSize(paddleSize);
+        if (touched) onTouch(touchX);
+    }
+
+    /**
+     * moves the paddle to where the finger is guessed to be when this tick
+     * reaches the screen, from the touch samples taken so far;
+     * recorded as a touch, so the game can be played again without them
+     *
+     * @param now System.nanoTime() now
+     */
+    private void followTouches(long now){
+        if (replaying != null) return;
+
+        boolean sampled = touches.update();
+        boolean moving = touches.isMoving(now);
+        //once the finger stops, put the paddle where it really is
+        if (!sampled && !moving && !touchPredicted) return;
+        touchPredicted = moving;
+
+        int x = touches.predict(now, TOUCH_LOOKAHEAD);
+        if (recording != null) {
+            recording.add(step, command(MOVE_PADDLE, 0, x));
+        }
+        onTouch(x);
+    }
+
+    /**
+     * moves the paddle to catch the ball that will reach it first;
+     * recorded as a touch, like followTouches
+     */
+    private void steer(){
+        if (replaying != null || !ballInPlay) return;
+
+        int x = Autopilot.aim(this);
+        if (x == paddle.getCenterX()) return;
+        if (recording != null) {
+            recording.add(step, command(MOVE_PADDLE, 0, x));
+        }
+        onTouch(x);
+    }
+
+    /**
+     * @param on whether the paddle should move by itself to catch balls,
+     *           instead of following touches
+     */
+    public void setAutopilot(boolean on){
+        autopilot = on;
+    }
+
+    /**
+     * @return where to add touch samples, with the time each was sensed;
+     *          one thread may add to it
+     */
+    public TouchTracker getTouches(){
+        return touches;
+    }
+
+    /**
+     * saves everything needed to carry on the game exactly as it is:
+     * balls, bricks, paddle, score, lives and random numbers
+     *
+     * @param buffer where to save it, reused if big enough; may be null
+     * @return the buffer saved to, from the start of the state to its end
+     */
+    public ByteBuffer saveState(ByteBuffer buffer){
+        //header, balls and bricks
+        int size = 96 + SAVED_BALL_BYTES*balls.size() + 20*bricks.length;
+        if (buffer == null || buffer.capacity() < size) {
+            buffer = ByteBuffer.allocateDirect(2*size);
+        }
+        buffer.clear();
+
+        buffer.putInt(SAVE_MAGIC);
+        buffer.putInt(SAVE_VERSION);
+        buffer.putLong(seed);
+        buffer.putLong(step);
+        buffer.putLong(random.getState());
+        buffer.putInt(score);
+        buffer.putInt(livesRemaining);
+        buffer.put((byte) ((ballInPlay ? 1 : 0) | (gameOver ? 2 : 0)
+                | (endless != null ? 4 : 0)));
+        buffer.putInt(paddle.getLeft());
+        buffer.putInt(paddle.getRight());
+        if (endless != null) {
+            buffer.putLong(endless.getChunksMade());
+            buffer.putInt(endless.getLowestChunk());
+            buffer.putInt(ticksSinceAdvance);
+        }
+
+        buffer.putInt(balls.size());
+        for (int i=0; i<balls.size(); i++) {
+            buffer.putDouble(balls.getX(i));
+            buffer.putDouble(balls.getY(i));
+            buffer.putDouble(balls.getXSpeed(i));
+            buffer.putDouble(balls.getYSpeed(i));
+            buffer.putInt(balls.getRadius(i));
+            buffer.putInt(balls.getColor(i));
+        }
+
+        //each brick is its hits, 0 if broken, then where it is if not
+        buffer.putInt(bricks.length);
+        for (Brick brick : bricks) {
+            if (brick == null) {
+                buffer.putInt(0);
+                continue;
+            }
+            buffer.putInt(brick.getRemainingHits());
+            buffer.putInt(brick.getLeft());
+            buffer.putInt(brick.getTop());
+            buffer.putInt(brick.getRight());
+            buffer.putInt(brick.getBottom());
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * carries on a game saved by saveState, in place of this one;
+     * only to be called before the game is being ticked
+     *
+     * @param buffer the saved state, from its position; the position is
+     *               moved past it
+     * @throws IOException if the buffer does not hold a saved game
+     */
+    public void restoreState(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != SAVE_MAGIC) {
+                throw new IOException("not a saved game");
+            }
+            int version = buffer.getInt();
+            if (version != SAVE_VERSION) {
+                throw new IOException("unknown saved game version " + version);
+            }
+            restoreFrom(buffer);
+        }
+        catch (BufferUnderflowException e) {
+            throw new IOException("saved game is cut short", e);
+        }
+    }
+
+    /**
+     * reads everything after the header of a saved game; nothing of
+     * this game is changed until all of it has been read and checked
+     *
+     * @param buffer the saved state, after its header
+     * @throws IOException if the saved game does not make sense
+     */
+    private void restoreFrom(ByteBuffer buffer) throws IOException {
+        long savedSeed = buffer.getLong();
+        long savedStep = buffer.getLong();
+        long randomState = buffer.getLong();
+        int savedScore = buffer.getInt();
+        int savedLives = buffer.getInt();
+        int flags = buffer.get();
+        int paddleLeft = buffer.getInt();
+        int paddleRight = buffer.getInt();
+        //xorshift never leaves a state of 0, so no save can hold one
+        if (savedStep < 0 || randomState == 0 || paddleRight <= paddleLeft) {
+            throw new IOException("saved game is damaged");
+        }
+
+        //a field is made from the seed, so make it again from the saved one
+        EndlessField field = null;
+        int savedTicksSinceAdvance = 0;
+        if ((flags & 4) != 0) {
+            field = newEndlessField(savedSeed);
+            long chunksMade = buffer.getLong();
+            int lowestChunk = buffer.getInt();
+            savedTicksSinceAdvance = buffer.getInt();
+            if (chunksMade < 0 || lowestChunk < 0) {
+                throw new IOException("saved game is damaged");
+            }
+            field.restore(chunksMade, lowestChunk);
+        }
+
+        int numBalls = buffer.getInt();
+        if (numBalls < 0 || numBalls > buffer.remaining()/SAVED_BALL_BYTES) {
+            throw new IOException("saved game has the wrong number of balls");
+        }
+        BallStore savedBalls = new BallStore(Math.max(numBalls, 1));
+        for (int i=0; i<numBalls; i++) {
+            double x = buffer.getDouble();
+            double y = buffer.getDouble();
+            double xSpeed = buffer.getDouble();
+            double ySpeed = buffer.getDouble();
+            int ball = savedBalls.add(x, y, buffer.getInt(), 0, 0, buffer.getInt());
+            savedBalls.setSpeeds(ball, xSpeed, ySpeed);
+        }
+
+        int numBricks = buffer.getInt();
+        if (numBricks < 0 || numBricks > buffer.remaining()/SAVED_BRICK_BYTES
+                || (field != null && numBricks != field.getBricks().length)) {
+            throw new IOException("saved game has the wrong number of bricks");
+        }
+        Brick[] savedBricks = field != null ? field.getBricks()
+                : new Brick[numBricks];
+        for (int i=0; i<numBricks; i++) {
+            int hits = buffer.getInt();
+            if (hits <= 0) continue;
+
+            int left = buffer.getInt();
+            int top = buffer.getInt();
+            int right = buffer.getInt();
+            int bottom = buffer.getInt();
+            if (right <= left || bottom <= top) {
+                throw new IOException("saved game is damaged");
+            }
+            savedBricks[i] = field != null
+                    ? field.place(i, left, top, right, bottom, hits)
+                    : new Brick(left, top, right, bottom, hits);
+        }
+
+        //all of it was read, so the game can become the saved one
+        seed = savedSeed;
+        step = savedStep;
+        score = savedScore;
+        livesRemaining = savedLives;
+        ballInPlay = (flags & 1) != 0;
+        gameOver = (flags & 2) != 0;
+        paddle.setWidth(paddleRight - paddleLeft);
+        paddle.setLeft(paddleLeft);
+        endless = field;
+        ticksSinceAdvance = savedTicksSinceAdvance;
+        balls.clear();
+        savedBalls.copyInto(balls);
+        setBricks(savedBricks);
+        random.setState(randomState);
+
+        //so the controls match the game
+        events.postScore(score);
+        if (ballInPlay) events.post(GameEvents.BALL_STARTED);
+        if (gameOver) events.post(GameEvents.GAME_OVER);
+    }
+
+    /**
+     * starts recording every input posted to the game from now on;
+     * only a game that has not ticked yet can be recorded, since the
+     * recording is played again from the start
+     *
+     * @return the recording, which grows as the game is played
+     */
+    public InputRecording startRecording(){
+        if (step != 0) {
+            throw new IllegalStateException("game has already ticked");
+        }
+        recording = new InputRecording(seed);
+        recording.setEndless(endless != null);
+        return recording;
+    }
+
+    /**
+     * plays a recorded game again, as fast as possible, with no thread
+     * other than the caller's; gives exactly the same game as recorded
+     *
+     * @param recording the recorded game
+     * @return the game, as it was at the end of the recording
+     */
+    public static PongGame replay(InputRecording recording){
+        return replay(recording, new PongGame(recording.getSeed()));
+    }
+
+    /**
+     * plays a game recorded on a level other than the default one again
+     *
+     * @param recording the recorded game
+     * @param level the level the game was played on, as given to setLevel
+     * @return the game, as it was at the end of the recording
+     * @throws IOException if level is not a level
+     */
+    public static PongGame replay(InputRecording recording, ByteBuffer level)
+            throws IOException {
+        PongGame game = new PongGame(recording.getSeed());
+        game.setLevel(level);
+        return replay(recording, game);
+    }
+
+    /**
+     * ticks a new game through a recording
+     *
+     * @param recording the recorded game
+     * @param game the game to play it on, not yet ticked
+     * @return the game, as it was at the end of the recording
+     */
+    private static PongGame replay(InputRecording recording, PongGame game){
+        game.setEndless(recording.isEndless());
+        game.replaying = recording;
+
+        long length = recording.getLength();
+        for (long i=0; i<length; i++) {
+            game.tick();
+        }
+        return game;
+    }
+
+    /**
+     * @return a hash of everything that decides how the game goes on,
+     *          equal for two games only if they are (almost surely)
+     *          in exactly the same state
+     */
+    public long stateHash(){
+        long hash = step;
+        hash = 31*hash + score;
+        hash = 31*hash + livesRemaining;
+        hash = 31*hash + brickStore.getLiveCount();
+        hash = 31*hash + (ballInPlay ? 1 : 0);
+        hash = 31*hash + (gameOver ? 1 : 0);
+        hash = 31*hash + paddle.getLeft();
+        hash = 31*hash + paddle.getRight();
+        for (int i=0; i<brickStore.size(); i++) {
+            hash = 31*hash + (brickStore.isLive(i)
+                    ? brickStore.get(i).getRemainingHits() : -1);
+        }
+        for (int i=0; i<balls.size(); i++) {
+            hash = 31*hash + Double.doubleToLongBits(balls.getX(i));
+            hash = 31*hash + Double.doubleToLongBits(balls.getY(i));
+            hash = 31*hash + Double.doubleToLongBits(balls.getXSpeed(i));
+            hash = 31*hash + Double.doubleToLongBits(balls.getYSpeed(i));
+        }
+        return hash;
+    }
+
+    /**
+     * sets how many threads move balls when there are many balls in play
+     *
+     * @param threads number of threads, counting the one that ticks;
+     *                1 to move all balls on the ticking thread
+     */
+    public void setPhysicsThreads(int threads){
+        shutdown();
+
+        movers = new BallMover[Math.max(threads, 1)];
+        for (int i=0; i < movers.length; i++) {
+            movers[i] = new BallMover(balls, wallGrid);
+            movers[i].setPaddle(paddle);
+        }
+        if (threads > 1) {
+            workers = new PhysicsWorkers(threads);
+        }
+    }
+
+    /**
+     * stops any threads the game started
+     */
+    public void shutdown(){
+        if (workers != null) {
+            workers.shutdown();
+            workers = null;
+        }
+    }
+
+    /**
+     * replaces all bricks with the given ones, such as a different layout
+     *
+     * @param bricks the new bricks
+     */
+    public void setBricks(Brick[] bricks){
+        this.bricks = bricks;
+        initWallGrid();
+    }
+
+    /**
+     * plays with bricks that never run out: made in chunks from the game's
+     * seed, moving down a chunk every so often, so the game only ends
+     * when the player runs out of lives; used instead of any level
+     *
+     * @param on whether to play endlessly, now and in every new game
+     * @throws IllegalStateException if the game is being recorded and has
+     *                               already ticked
+     */
+    public void setEndless(boolean on){
+        if (on == (endless != null)) return;
+        if (recording != null) {
+            //a recording can only say how a game started
+            if (step != 0) {
+                throw new IllegalStateException("recorded game has already ticked");
+            }
+            recording.setEndless(on);
+        }
+
+        endless = on ? newEndlessField(seed) : null;
+        initBricks();
+        initWallGrid();
+    }
+
+    /**
+     * @param seed of the field
+     * @return an endless field that fits the game, not yet started
+     */
+    private EndlessField newEndlessField(long seed){
+        return new EndlessField(seed, wallWidth, 2*wallWidth,
+                screenWidth-wallWidth, screenHeight/2, screenHeight/14);
+    }
+
+    /**
+     * replaces all bricks with those of a level, now and in every new game
+     *
+     * @param level the level, as made by Level.compile, usually from
+     *              Level.load
+     * @throws IOException if level is not a level
+     */
+    public void setLevel(ByteBuffer level) throws IOException {
+        setBricks(Level.read(level, screenWidth, screenHeight));
+        this.level = level;
+    }
+
+    /**
+     * @return the bricks, with null in place of broken bricks
+     */
+    public Brick[] getBricks(){
+        return bricks;
+    }
+
+    /**
+     * @return number of balls in play
+     */
+    public int getBallCount(){
+        return balls.size();
+    }
+
+    /**
+     * @return the balls in play
+     */
+    BallStore getBalls(){
+        return balls;
+    }
+
+    /**
+     * @return the walls: left, top, right, paddle
+     */
+    Wall[] getWalls(){
+        return walls;
+    }
+
+    /**
+     * @return the paddle
+     */
+    Paddle getPaddle(){
+        return paddle;
+    }
+
+    /**
+     * @return width of the area the game is played in
+     */
+    public int getScreenWidth(){
+        return screenWidth;
+    }
+
+    /**
+     * @return height of the area the game is played in
+     */
+    public int getScreenHeight(){
+        return screenHeight;
+    }
+
+    /**
+     * @return bricks broken since the last life was lost
+     */
+    public int getScore(){
+        return score;
+    }
+
+    /**
+     * @return lives the player has left
+     */
+    public int getLivesRemaining(){
+        return livesRemaining;
+    }
+
+    /**
+     * @return width of the paddle
+     */
+    public int getPaddleWidth(){
+        return paddle.getRight() - paddle.getLeft();
+    }
+
+    /**
+     * @return unbroken bricks
+     */
+    public int getBricksRemaining(){
+        return brickStore.getLiveCount();
+    }
+
+    /**
+     * @return whether the ball has been started and not yet lost
+     */
+    public boolean isBallInPlay(){
+        return ballInPlay;
+    }
+
+    /**
+     * @return number of ticks so far
+     */
+    public long getStep(){
+        return step;
+    }
+
+    /**
+     * @param ball index of a ball in play
+     * @return x coord of the ball's center
+     */
+    public double getBallX(int ball){
+        return balls.getX(ball);
+    }
+
+    /**
+     * @param ball index of a ball in play
+     * @return y coord of the ball's center
+     */
+    public double getBallY(int ball){
+        return balls.getY(ball);
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
@@ -0,0 +1,101 @@
+package harrison.pong.core;
+
+/**
+ * Interface Renderer
+ *
+ * what the game draws itself with, so that the game does not depend
+ * on any particular drawing library
+ * colors are ARGB ints, such as 0xffff0000 for red
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public interface Renderer {
+
+    //how text is placed relative to its x-coord
+    int ALIGN_LEFT = 0;
+    int ALIGN_CENTER = 1;
+
+    /**
+     * draws a filled rectangle
+     *
+     * @param left coord of rectangle
+     * @param top coord of rectangle
+     * @param right coord of rectangle
+     * @param bottom coord of rectangle
+     * @param color of rectangle
+     */
+    void fillRect(int left, int top, int right, int bottom, int color);
+
+    /**
+     * draws the outline of a rectangle
+     *
+     * @param left coord of rectangle
+     * @param top coord of rectangle
+     * @param right coord of rectangle
+     * @param bottom coord of rectangle
+     * @param color of outline
+     * @param width of outline
+     */
+    void strokeRect(int left, int top, int right, int bottom, int color, float width);
+
+    /**
+     * draws a filled circle
+     *
+     * @param x coord of center
+     * @param y coord of center
+     * @param radius of circle
+     * @param color of circle
+     */
+    void fillCircle(float x, float y, float radius, int color);
+
+    /**
+     * draws a line
+     *
+     * @param startX coord of one end
+     * @param startY coord of one end
+     * @param endX coord of other end
+     * @param endY coord of other end
+     * @param color of line
+     */
+    void drawLine(float startX, float startY, float endX, float endY, int color);
+
+    /**
+     * draws a line of text
+     *
+     * @param text to draw
+     * @param x coord of text, placed according to align
+     * @param y coord of text's baseline
+     * @param size of text
+     * @param color of text
+     * @param align ALIGN_LEFT or ALIGN_CENTER
+     */
+    void drawText(String text, float x, float y, float size, int color, int align);
+
+    /**
+     * makes a rectangle fully transparent, such as on a layer
+     * that is drawn over other things
+     *
+     * @param left coord of rectangle
+     * @param top coord of rectangle
+     * @param right coord of rectangle
+     * @param bottom coord of rectangle
+     */
+    void clearRect(int left, int top, int right, int bottom);
+
+    /**
+     * limits drawing to a rectangle until restoreClip is called
+     *
+     * @param left coord of rectangle
+     * @param top coord of rectangle
+     * @param right coord of rectangle
+     * @param bottom coord of rectangle
+     */
+    void clipRect(int left, int top, int right, int bottom);
+
+    /**
+     * undoes the last clipRect
+     */
+    void restoreClip();
+}
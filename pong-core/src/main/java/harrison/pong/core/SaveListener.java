@@ -0,0 +1,24 @@
+package harrison.pong.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface SaveListener
+ *
+ * told when a PongGame has saved its state after being asked to with
+ * postSave; told on the thread that ticks the game, so it must not wait
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public interface SaveListener {
+
+    /**
+     * the game's state was saved
+     * @param state the saved state, from its position to its limit,
+     *              for PongGame.restoreState; the game does not touch it
+     *              again unless it is given back to postSave
+     */
+    void saved(ByteBuffer state);
+}
@@ -0,0 +1,68 @@
+package harrison.pong.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class SnapshotBuffer
+ *
+ * Passes snapshots of the game from the thread that ticks it to the
+ * thread that draws it, without either thread ever waiting for the other.
+ *
+ * Holds three snapshots: one the game thread is writing, one the draw
+ * thread is drawing, and the newest finished one in between. Publishing
+ * swaps the written snapshot with the one in between, and taking the
+ * latest swaps the drawn one with it if it is newer.
+ *
+ * External Citation
+ * Date: 10/18/2026
+ * Problem: drawing stalled ticking and ticking stalled drawing
+ * Resource: https://en.wikipedia.org/wiki/Multiple_buffering#Triple_buffering
+ * Solution: a triple buffer, swapping snapshots with one atomic exchange
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class SnapshotBuffer {
+
+    private GameSnapshot[] snapshots =
+            {new GameSnapshot(), new GameSnapshot(), new GameSnapshot()};
+
+    //index of the snapshot in between, plus FRESH if it has not been drawn
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    //index of the snapshot being written; only used by the game thread
+    private int back = 0;
+    //index of the snapshot being drawn; only used by the draw thread
+    private int front = 2;
+
+    /**
+     * @return the snapshot to write the game into next;
+     *          only to be called by the game thread
+     */
+    public GameSnapshot getBack() {
+        return snapshots[back];
+    }
+
+    /**
+     * makes the snapshot from getBack() the latest one;
+     * only to be called by the game thread
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * @return the newest published snapshot, which stays the same
+     *          until this is called again;
+     *          only to be called by the draw thread
+     */
+    public GameSnapshot getLatest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return snapshots[front];
+    }
+}
@@ -0,0 +1,33 @@
+package harrison.pong.core;
+
+/**
+ * Enum SpeedPreset
+ *
+ * the ranges of ball speed a player can choose from
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public enum SpeedPreset {
+    SLOW(2000, 3000),
+    NORMAL(4000, 5000),
+    FAST(6000, 7000);
+
+    //range of speed of ball, in pixels/sec
+    private final int minSpeed;
+    private final int maxSpeed;
+
+    SpeedPreset (int minSpeed, int maxSpeed) {
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+    }
+
+    public int getMinSpeed() {
+        return minSpeed;
+    }
+
+    public int getMaxSpeed() {
+        return maxSpeed;
+    }
+}
@@ -0,0 +1,155 @@
+package harrison.pong.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class TouchTracker
+ *
+ * Carries every touch sample, with the time it was sensed, from the
+ * thread that gets touches to the thread that ticks a PongGame, and
+ * guesses from them where the finger will be a little later, so the
+ * paddle can be drawn where the finger is instead of where it was.
+ *
+ * One thread adds samples and one takes them, without locks and without
+ * making any objects. Times are System.nanoTime() values.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class TouchTracker {
+
+    //most samples waiting at once; a power of two
+    private static final int CAPACITY = 64;
+    private static final int MASK = CAPACITY-1;
+
+    //how quickly the speed follows new samples: about this many nanos
+    private static final double SMOOTHING_NANOS = 20e6;
+    //never guess further ahead of the last sample than this
+    private static final long MAX_AHEAD_NANOS = 50000000L;
+    //a finger with no samples for this long is taken to be still
+    private static final long STILL_NANOS = 50000000L;
+
+    //samples waiting to be taken
+    private final int[] xs = new int[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+    private final boolean[] lifted = new boolean[CAPACITY];
+    //next sample to write, only moved by the adding thread
+    private final AtomicLong tail = new AtomicLong();
+    //next sample to read, only moved by the taking thread
+    private final AtomicLong head = new AtomicLong();
+
+    //what the taking thread knows of the finger
+    private boolean seen; //whether any sample was taken yet
+    private boolean down; //whether the finger is on the screen
+    private int lastX;
+    private long lastTime;
+    private double speed; //pixels per nano, smoothed
+
+    /**
+     * adds where the finger was while on the screen;
+     * only to be called by one thread
+     *
+     * @param x coord of the touch
+     * @param time System.nanoTime() when it was sensed
+     * @return whether it was added; false if too many samples are waiting
+     */
+    public boolean add(int x, long time) {
+        return add(x, time, false);
+    }
+
+    /**
+     * adds where the finger was when it left the screen;
+     * only to be called by one thread
+     *
+     * @param x coord of the touch
+     * @param time System.nanoTime() when it was sensed
+     * @return whether it was added; false if too many samples are waiting
+     */
+    public boolean addLift(int x, long time) {
+        return add(x, time, true);
+    }
+
+    /**
+     * adds a sample, if there is room for it
+     */
+    private boolean add(int x, long time, boolean lift) {
+        long pos = tail.get();
+        if (pos - head.get() >= CAPACITY) return false;
+
+        int slot = (int) pos & MASK;
+        xs[slot] = x;
+        times[slot] = time;
+        lifted[slot] = lift;
+        tail.lazySet(pos+1); //publishes the sample
+        return true;
+    }
+
+    /**
+     * takes every sample added since the last update, oldest first;
+     * only to be called by the thread that ticks the game
+     *
+     * @return whether there were any
+     */
+    boolean update() {
+        long pos = head.get();
+        long end = tail.get();
+        if (pos == end) return false;
+
+        for (; pos < end; pos++) {
+            int slot = (int) pos & MASK;
+            take(xs[slot], times[slot], lifted[slot]);
+        }
+        head.lazySet(end); //frees the slots for the adder
+        return true;
+    }
+
+    /**
+     * brings the finger's position and speed up to date with one sample
+     */
+    private void take(int x, long time, boolean lift) {
+        if (!seen || !down) {
+            //a new touch; nothing yet to tell its speed from
+            speed = 0;
+        }
+        else {
+            long dt = time - lastTime;
+            if (dt > 0) {
+                double sampleSpeed = (double) (x - lastX) / dt;
+                //samples close together count for less than those far apart
+                double weight = dt / (dt + SMOOTHING_NANOS);
+                speed += weight * (sampleSpeed - speed);
+            }
+        }
+
+        seen = true;
+        down = !lift;
+        lastX = x;
+        lastTime = time;
+    }
+
+    /**
+     * @param now System.nanoTime() now
+     * @return whether the guess of where the finger is changes with time,
+     *          because it is on the screen and was moving recently
+     */
+    boolean isMoving(long now) {
+        return seen && down && speed != 0 && now - lastTime < STILL_NANOS;
+    }
+
+    /**
+     * guesses where the finger will be a little after now
+     * from its last position and speed
+     *
+     * @param now System.nanoTime() now
+     * @param lookahead how many nanos after now
+     * @return the guessed coord
+     */
+    int predict(long now, long lookahead) {
+        if (!isMoving(now)) return lastX;
+
+        long ahead = Math.max(0, Math.min(now+lookahead - lastTime,
+                MAX_AHEAD_NANOS));
+        return lastX + (int) Math.round(speed * ahead);
+    }
+}
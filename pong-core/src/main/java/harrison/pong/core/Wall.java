@@ -0,0 +1,325 @@
+package harrison.pong.core;
+
+/**
+ * Class Wall
+ *
+ * blueprint of Wall attributes
+ * Able to check points within/close to any wall
+ * Draws walls on animation surface
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class Wall {
+
+    //the coordinates of rectangle that is wall
+    protected int left;
+    protected int top;
+    protected int right;
+    protected int bottom;
+    private int color;
+
+    //the sides of any wall used for touching
+    public static final int LEFTSIDE = 1;
+    public static final int TOPSIDE = 2;
+    public static final int RIGHTSIDE = 3;
+    public static final int BOTTOMSIDE = 4;
+
+    /**
+     * wall constructor
+     *
+     * @param left coord of wall
+     * @param top coord of wall
+     * @param right coord of wall
+     * @param bottom coord of wall
+     * @param color of wall
+     */
+    public Wall ( int left, int top, int right, int bottom, int color) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        this.color = color;
+    }
+
+    /**
+     * makes this wall the same place, size and color as another
+     * @param wall the wall to copy
+     */
+    public void set (Wall wall) {
+        left = wall.left;
+        top = wall.top;
+        right = wall.right;
+        bottom = wall.bottom;
+        color = wall.color;
+    }
+
+    /**
+     * draws rectangle at coords
+     * @param r renderer with which to draw
+     */
+    public void onDraw (Renderer r) {
+        r.fillRect(left, top, right, bottom, color);
+    }
+
+    /**
+     * @param x coord of point to test
+     * @param y coord of point to test
+     * @param rad the distance from the wall to test
+     * @return the side of wall ball hit
+     */
+    public boolean isPointWithin (int x, int y, int rad) {
+        if (x < left-rad) return false;
+        if (y < top-rad) return false;
+        if (x > right+rad) return false;
+        if (y > bottom+rad) return false;
+
+        return true;
+    }
+
+    /**
+     * finds where a moving ball first touches this wall, if it touches
+     * the wall before any contact already recorded
+     *
+     * External Citation
+     * Date: 10/18/2026
+     * Problem: fast balls pass through walls between ticks, and balls
+     *          bounced off empty space just beyond a wall's corners
+     * Resource: Ericson, Real-Time Collision Detection, 5.3.3 and 5.5.7
+     * Solution: intersect the ball's path with the wall grown by the
+     *           ball's radius, with rounded corners: a rectangle grown
+     *           sideways and one grown up and down, using the slab method,
+     *           and a circle around each corner
+     * a ball already touching the wall and moving into it touches it at
+     * the start of its movement, so it bounces rather than passing through
+     *
+     * @param x coord of ball's center before moving
+     * @param y coord of ball's center before moving
+     * @param deltaX distance ball moves right
+     * @param deltaY distance ball moves down
+     * @param rad radius of ball
+     * @param contact earliest contact found so far; updated if this is earlier
+     * @return whether this wall is now the earliest contact
+     */
+    public boolean sweep (double x, double y, double deltaX, double deltaY,
+                          int rad, Contact contact) {
+        //a ball already touching, as when the paddle moves onto it, is
+        //touched from the start, unless it is already moving away
+        double offX = x - Math.max(left, Math.min(right, x));
+        double offY = y - Math.max(top, Math.min(bottom, y));
+        if (offX*offX + offY*offY < rad*rad) {
+            return touching(x, y, deltaX, deltaY, offX, offY, contact);
+        }
+
+        double sideways = enterBox(x, y, deltaX, deltaY,
+                left-rad, top, right+rad, bottom);
+        double upDown = enterBox(x, y, deltaX, deltaY,
+                left, top-rad, right, bottom+rad);
+        double topLeft = enterCircle(x, y, deltaX, deltaY, left, top, rad);
+        double topRight = enterCircle(x, y, deltaX, deltaY, right, top, rad);
+        double bottomLeft = enterCircle(x, y, deltaX, deltaY, left, bottom, rad);
+        double bottomRight = enterCircle(x, y, deltaX, deltaY, right, bottom, rad);
+
+        //the first part of the grown wall the path enters; NaN if missed
+        double enter = Double.POSITIVE_INFINITY;
+        if (sideways < enter) enter = sideways;
+        if (upDown < enter) enter = upDown;
+        int cornerX = 0;
+        int cornerY = 0;
+        if (topLeft < enter) {
+            enter = topLeft;
+            cornerX = left;
+            cornerY = top;
+        }
+        if (topRight < enter) {
+            enter = topRight;
+            cornerX = right;
+            cornerY = top;
+        }
+        if (bottomLeft < enter) {
+            enter = bottomLeft;
+            cornerX = left;
+            cornerY = bottom;
+        }
+        if (bottomRight < enter) {
+            enter = bottomRight;
+            cornerX = right;
+            cornerY = bottom;
+        }
+        if (enter >= contact.getTime()) return false;
+
+        //only rounding leaves a ball not touching inside the grown wall
+        double time = Math.max(enter, 0);
+        if (enter == sideways) {
+            return deltaX > 0 ? contact.offer(time, -1, 0, this)
+                    : contact.offer(time, 1, 0, this);
+        }
+        if (enter == upDown) {
+            return deltaY > 0 ? contact.offer(time, 0, -1, this)
+                    : contact.offer(time, 0, 1, this);
+        }
+        //bounces off the corner as off a surface facing the ball
+        double normalX = (x + deltaX*enter - cornerX)/rad;
+        double normalY = (y + deltaY*enter - cornerY)/rad;
+        return contact.offer(time, normalX, normalY, this);
+    }
+
+    /**
+     * records a contact at the start of the movement of a ball that is
+     * already touching the wall, off the surface nearest its center
+     *
+     * @param x coord of ball's center
+     * @param y coord of ball's center
+     * @param deltaX distance ball moves right
+     * @param deltaY distance ball moves down
+     * @param offX x distance from the nearest point of the wall to the center
+     * @param offY y distance from the nearest point of the wall to the center
+     * @param contact earliest contact found so far
+     * @return whether this wall is now the earliest contact; never if the
+     *          ball is moving away from the wall, so it can leave it
+     */
+    private boolean touching (double x, double y, double deltaX,
+                              double deltaY, double offX, double offY,
+                              Contact contact) {
+        double normalX, normalY;
+        double distance = Math.sqrt(offX*offX + offY*offY);
+        if (distance > 0) {
+            normalX = offX/distance;
+            normalY = offY/distance;
+        }
+        else {
+            //center inside the wall, so out through the nearest side
+            double toLeft = x-left;
+            double toTop = y-top;
+            double toRight = right-x;
+            double toBottom = bottom-y;
+            double nearest = Math.min(Math.min(toLeft, toRight),
+                    Math.min(toTop, toBottom));
+            normalX = nearest == toLeft ? -1 : nearest == toRight ? 1 : 0;
+            normalY = normalX != 0 ? 0 : nearest == toTop ? -1 : 1;
+        }
+
+        if (deltaX*normalX + deltaY*normalY >= 0) return false;
+        return contact.offer(0, normalX, normalY, this);
+    }
+
+    /**
+     * @return the fraction of its movement at which a moving point enters
+     *          a rectangle; negative if it starts inside, NaN if it never
+     *          enters it
+     */
+    private static double enterBox (double x, double y, double deltaX,
+                                    double deltaY, double boxLeft,
+                                    double boxTop, double boxRight,
+                                    double boxBottom) {
+        //time the path is within the box, in each axis
+        double enterX, exitX, enterY, exitY;
+
+        if (deltaX != 0) {
+            double toLeft = (boxLeft-x)/deltaX;
+            double toRight = (boxRight-x)/deltaX;
+            enterX = Math.min(toLeft, toRight);
+            exitX = Math.max(toLeft, toRight);
+        }
+        else {
+            //not moving horizontally, so either always or never within
+            if (x < boxLeft || x > boxRight) return Double.NaN;
+            enterX = Double.NEGATIVE_INFINITY;
+            exitX = Double.POSITIVE_INFINITY;
+        }
+
+        if (deltaY != 0) {
+            double toTop = (boxTop-y)/deltaY;
+            double toBottom = (boxBottom-y)/deltaY;
+            enterY = Math.min(toTop, toBottom);
+            exitY = Math.max(toTop, toBottom);
+        }
+        else {
+            if (y < boxTop || y > boxBottom) return Double.NaN;
+            enterY = Double.NEGATIVE_INFINITY;
+            exitY = Double.POSITIVE_INFINITY;
+        }
+
+        //the point is within the box once it is within it in both axes
+        double enter = Math.max(enterX, enterY);
+        double exit = Math.min(exitX, exitY);
+        //path misses the box, or leaves it as it starts
+        if (enter > exit || exit <= 0) return Double.NaN;
+        //a box entered in the past and not yet left is being touched
+        return enter < 0 ? -1 : enter;
+    }
+
+    /**
+     * @return the fraction of its movement at which a moving point comes
+     *          within a distance of another point; negative if it starts
+     *          within it, NaN if it never comes that close
+     */
+    private static double enterCircle (double x, double y, double deltaX,
+                                       double deltaY, int centerX,
+                                       int centerY, int rad) {
+        double offX = x - centerX;
+        double offY = y - centerY;
+        double c = offX*offX + offY*offY - rad*rad;
+        if (c < 0) return -1;
+
+        double a = deltaX*deltaX + deltaY*deltaY;
+        double b = offX*deltaX + offY*deltaY;
+        //moving away from the circle, or not at all
+        if (b >= 0 || a == 0) return Double.NaN;
+
+        double discriminant = b*b - a*c;
+        if (discriminant < 0) return Double.NaN;
+        return (-b - Math.sqrt(discriminant))/a;
+    }
+
+    /**
+     * checks which wall side ball is closest to
+     *
+     * @param x coord of point
+     * @param y coord of point
+     * @return the side the point is closest to
+     */
+    public int sideClosestTo (int x, int y) {
+        int distL = Math.abs(left-x);
+        int distT = Math.abs(top-y);
+        int distR = Math.abs(right-x);
+        int distB = Math.abs(bottom-y);
+
+        //determines min value
+        int min = minVal(distL,distT,distR,distB);
+
+        if (min==distL) return LEFTSIDE;
+        if (min==distT) return TOPSIDE;
+        if (min==distR) return RIGHTSIDE;
+        return BOTTOMSIDE;
+    }
+
+    /**
+     * finds min value, without the array a varargs call would create
+     * @return min value of a, b, c and d
+     */
+    public int minVal (int a, int b, int c, int d) {
+        return Math.min(Math.min(a, b), Math.min(c, d));
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+
+    protected void setColor (int color) {
+        this.color = color;
+    }
+}
@@ -0,0 +1,277 @@
+package harrison.pong.core;
+
+import java.util.Arrays;
+
+/**
+ * Class WallGrid
+ *
+ * divides the screen into square cells and remembers which walls
+ * overlap each cell, so that a ball only needs to be checked against
+ * the walls near it
+ * built once per game; walls (such as broken bricks) can be removed,
+ * and their ids are reused by walls inserted later, so a grid that has
+ * walls removed and inserted for ever stays the same size
+ * searched with a Query; each thread searching the grid needs its own
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class WallGrid {
+
+    //size of each cell, in pixels
+    private int cellSize;
+    //number of cells across and down
+    private int columns;
+    private int rows;
+
+    //ids of the walls overlapping each cell
+    private int[][] cells;
+    private int[] cellCounts;
+
+    //walls by id, null once removed
+    private Wall[] walls = new Wall[32];
+    //where each wall's id is in each cell it overlaps, in the order
+    //insert visits those cells, so it is taken out without a search
+    private int[][] slots = new int[32][];
+    private int numWalls;
+    //ids of removed walls, to be reused
+    private int[] freeIds = new int[16];
+    private int numFree;
+
+    /**
+     * WallGrid constructor
+     *
+     * @param width of area walls are in
+     * @param height of area walls are in
+     * @param cellSize size of each cell
+     */
+    public WallGrid (int width, int height, int cellSize) {
+        this.cellSize = cellSize;
+        this.columns = width/cellSize + 1;
+        this.rows = height/cellSize + 1;
+
+        cells = new int[columns*rows][];
+        cellCounts = new int[columns*rows];
+    }
+
+    /**
+     * removes all walls
+     */
+    public void clear () {
+        Arrays.fill(cellCounts, 0);
+        Arrays.fill(walls, 0, numWalls, null);
+        numWalls = 0;
+        numFree = 0;
+    }
+
+    /**
+     * adds a wall to every cell it overlaps
+     *
+     * @param wall the wall to add
+     * @return the id of the wall, used to remove it
+     */
+    public int insert (Wall wall) {
+        int id;
+        if (numFree > 0) {
+            id = freeIds[--numFree];
+        }
+        else {
+            id = numWalls++;
+            if (id == walls.length) {
+                walls = Arrays.copyOf(walls, 2*id);
+                slots = Arrays.copyOf(slots, 2*id);
+            }
+        }
+        walls[id] = wall;
+
+        int minCol = column(wall.getLeft());
+        int maxCol = column(wall.getRight());
+        int minRow = row(wall.getTop());
+        int maxRow = row(wall.getBottom());
+        int numCells = (maxCol-minCol+1)*(maxRow-minRow+1);
+        int[] slot = slots[id];
+        if (slot == null || slot.length < numCells) {
+            slot = slots[id] = new int[numCells];
+        }
+        int s = 0;
+        for (int r=minRow; r <= maxRow; r++) {
+            for (int c=minCol; c <= maxCol; c++) {
+                slot[s++] = addToCell(r*columns + c, id);
+            }
+        }
+
+        return id;
+    }
+
+    /**
+     * removes a wall; it will no longer be found by queries
+     * the wall must not have moved since it was inserted
+     *
+     * @param id of the wall, as given by insert
+     */
+    public void remove (int id) {
+        Wall wall = walls[id];
+        if (wall == null) return;
+
+        int[] slot = slots[id];
+        int s = 0;
+        int maxCol = column(wall.getRight());
+        int maxRow = row(wall.getBottom());
+        for (int r=row(wall.getTop()); r <= maxRow; r++) {
+            for (int c=column(wall.getLeft()); c <= maxCol; c++) {
+                removeFromCell(r*columns + c, slot[s++]);
+            }
+        }
+        walls[id] = null;
+
+        if (numFree == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, 2*numFree);
+        }
+        freeIds[numFree++] = id;
+    }
+
+    /**
+     * @return a new query for finding walls in this grid
+     */
+    public Query newQuery () {
+        return new Query();
+    }
+
+    /**
+     * Class Query
+     *
+     * finds the walls near a rectangle, reusing its arrays from
+     * one search to the next
+     */
+    public class Query {
+
+        //the last search that found each wall, so it is only found once
+        private int[] lastSearch = new int[32];
+        private int searchNumber;
+
+        //ids found by the last search
+        private int[] results = new int[32];
+        private int numResults;
+
+        /**
+         * finds the walls that may overlap a rectangle
+         * the walls found can be read with getResult
+         *
+         * @param left coord of rectangle
+         * @param top coord of rectangle
+         * @param right coord of rectangle
+         * @param bottom coord of rectangle
+         * @return the number of walls found
+         */
+        public int find (double left, double top, double right, double bottom) {
+            if (lastSearch.length < numWalls) {
+                lastSearch = Arrays.copyOf(lastSearch, walls.length);
+            }
+            if (++searchNumber == Integer.MAX_VALUE) {
+                //start counting over so old searches are not mistaken for this one
+                Arrays.fill(lastSearch, 0);
+                searchNumber = 1;
+            }
+            numResults = 0;
+
+            int maxCol = column(right);
+            int maxRow = row(bottom);
+            for (int r=row(top); r <= maxRow; r++) {
+                for (int c=column(left); c <= maxCol; c++) {
+                    int cell = r*columns + c;
+                    int[] ids = cells[cell];
+                    for (int k=0; k < cellCounts[cell]; k++) {
+                        int id = ids[k];
+                        if (walls[id] == null) continue; //removed
+                        if (lastSearch[id] == searchNumber) continue; //already found
+
+                        lastSearch[id] = searchNumber;
+                        if (numResults == results.length) {
+                            results = Arrays.copyOf(results, 2*numResults);
+                        }
+                        results[numResults++] = id;
+                    }
+                }
+            }
+
+            return numResults;
+        }
+
+        /**
+         * @param k which of the walls found by the last search
+         * @return the kth wall found by the last search
+         */
+        public Wall getResult (int k) {
+            return walls[results[k]];
+        }
+    }
+
+    /**
+     * adds a wall id to a cell, growing the cell if needed
+     *
+     * @return where in the cell the id was put
+     */
+    private int addToCell (int cell, int id) {
+        int[] ids = cells[cell];
+        if (ids == null) {
+            ids = cells[cell] = new int[4];
+        }
+        else if (cellCounts[cell] == ids.length) {
+            ids = cells[cell] = Arrays.copyOf(ids, 2*ids.length);
+        }
+        ids[cellCounts[cell]] = id;
+        return cellCounts[cell]++;
+    }
+
+    /**
+     * takes the wall id at a slot out of a cell, moving the cell's last
+     * id into its place
+     *
+     * @param cell the cell
+     * @param k the slot the id is in
+     */
+    private void removeFromCell (int cell, int k) {
+        int[] ids = cells[cell];
+        int last = --cellCounts[cell];
+        if (k == last) return;
+
+        int moved = ids[last];
+        ids[k] = moved;
+        slots[moved][slotIndex(walls[moved], cell)] = k;
+    }
+
+    /**
+     * @param wall a wall in the grid
+     * @param cell one of the cells it overlaps
+     * @return which of the wall's slots is for that cell
+     */
+    private int slotIndex (Wall wall, int cell) {
+        int minCol = column(wall.getLeft());
+        int width = column(wall.getRight()) - minCol + 1;
+        return (cell/columns - row(wall.getTop()))*width
+                + cell%columns - minCol;
+    }
+
+    /**
+     * @param x coord
+     * @return column containing x, clamped to the grid
+     */
+    private int column (double x) {
+        int col = (int) (x/cellSize);
+        if (col < 0) return 0;
+        if (col >= columns) return columns-1;
+        return col;
+    }
+
+    /**
+     * @param y coord
+     * @return row containing y, clamped to the grid
+     */
+    private int row (double y) {
+        int row = (int) (y/cellSize);
+        if (row < 0) return 0;
+        if (row >= rows) return rows-1;
+        return row;
+    }
+}
@@ -0,0 +1,75 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for moving the paddle by itself with Autopilot.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class AutopilotTest {
+
+    //directions balls can move in
+    private static final double DOWN = -Math.PI/2;
+    private static final double UP = Math.PI/2;
+    private static final double DOWN_RIGHT = -Math.PI/4;
+
+    @Test
+    public void aim_goesUnderAFallingBall() throws Exception {
+        PongGame pong = gameWithBall(1000, 600, DOWN);
+        assertEquals(1000, Autopilot.aim(pong));
+    }
+
+    @Test
+    public void aim_reflectsOffTheSideWall() throws Exception {
+        //would land at 2500 with no wall; the right wall is at 2440
+        //for the ball's center, so it lands 60 back from it
+        PongGame pong = gameWithBall(2300, 990, DOWN_RIGHT);
+        assertEquals(2380, Autopilot.aim(pong));
+    }
+
+    @Test
+    public void aim_followsARisingBallBackFromTheTop() throws Exception {
+        PongGame pong = gameWithBall(700, 600, UP);
+        assertEquals(700, Autopilot.aim(pong));
+    }
+
+    @Test
+    public void aim_goesToTheBallArrivingFirst() throws Exception {
+        PongGame pong = gameWithBall(2000, 300, DOWN);
+        pong.getBalls().add(500, 1100, 45, 1000, DOWN, 0);
+        assertEquals(500, Autopilot.aim(pong));
+    }
+
+    @Test
+    public void fold_bouncesBackAndForthBetweenWalls() throws Exception {
+        assertEquals(30, Autopilot.fold(30, 0, 100), 1e-9);
+        assertEquals(70, Autopilot.fold(130, 0, 100), 1e-9);
+        assertEquals(30, Autopilot.fold(230, 0, 100), 1e-9);
+        assertEquals(30, Autopilot.fold(-30, 0, 100), 1e-9);
+    }
+
+    @Test
+    public void autopilot_losesNoLivesWithManyBalls() throws Exception {
+        PongGame pong = new PongGame(21);
+        pong.setAutopilot(true);
+        pong.postStartOrResetBall(4000, 5000);
+        for (int tick = 0; tick < 2000 && !pong.isGameOver(); tick++) {
+            if (tick % 100 == 0) pong.postAddBall(4000, 5000);
+            pong.tick();
+        }
+
+        assertEquals(3, pong.getLivesRemaining());
+    }
+
+    private static PongGame gameWithBall(int x, int y, double direction) {
+        PongGame pong = new PongGame(1);
+        BallStore balls = pong.getBalls();
+        balls.clear();
+        balls.add(x, y, 45, 1000, direction, 0);
+        return pong;
+    }
+}
@@ -0,0 +1,80 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for bouncing balls with BallGrid, checked against
+ * trying every pair of balls.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class BallGridTest {
+
+    private static final int SIZE = 1000;
+    private static final int MAX_RADIUS = 20;
+
+    @Test
+    public void bounceTouchingBalls_bouncesWhatAPairwiseScanBounces() throws Exception {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            BallStore balls = randomBalls(random, 400);
+            BallStore expected = new BallStore(balls.size());
+            balls.copyInto(expected);
+
+            for (int i = 0; i < expected.size(); i++) {
+                for (int j = i + 1; j < expected.size(); j++) {
+                    if (expected.touches(i, j)) {
+                        expected.bounceOff(i, j);
+                    }
+                }
+            }
+            BallGrid grid = new BallGrid(SIZE, SIZE, 2*MAX_RADIUS);
+            grid.build(balls);
+            grid.bounceTouchingBalls(balls);
+
+            for (int i = 0; i < balls.size(); i++) {
+                assertEquals(expected.getXSpeed(i), balls.getXSpeed(i), 0);
+                assertEquals(expected.getYSpeed(i), balls.getYSpeed(i), 0);
+            }
+        }
+    }
+
+    /**
+     * @param numTries balls to try placing
+     * @return balls on, or just off, the screen, each touching at most one
+     *          other, so the order pairs are bounced in does not matter
+     */
+    private static BallStore randomBalls(Random random, int numTries) {
+        BallStore balls = new BallStore(numTries);
+        int[] touching = new int[numTries];
+        for (int n = 0; n < numTries; n++) {
+            int ball = balls.add(random.nextInt(SIZE + 100) - 50,
+                    random.nextInt(SIZE + 100) - 50,
+                    5 + random.nextInt(MAX_RADIUS - 4),
+                    100 + random.nextInt(2000),
+                    random.nextDouble()*2*Math.PI, 0);
+            int touches = 0;
+            int other = -1;
+            for (int i = 0; i < ball; i++) {
+                if (balls.touches(i, ball)) {
+                    touches++;
+                    other = i;
+                }
+            }
+            if (touches > 1 || (touches == 1 && touching[other] > 0)) {
+                balls.remove(ball);
+                continue;
+            }
+            if (touches == 1) {
+                touching[other]++;
+                touching[ball]++;
+            }
+        }
+        return balls;
+    }
+}
@@ -0,0 +1,43 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for moving balls with BallMover.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class BallMoverTest {
+
+    @Test
+    public void applyHits_hitsBricksInOrderOfTheBallsNotTheMovers() throws Exception {
+        WallGrid grid = new WallGrid(1000, 1000, 100);
+        BrickStore bricks = new BrickStore(grid);
+        //ball 0 flies up into brick 1, and ball 1 into brick 0
+        bricks.set(new Brick[] {new Brick(500, 100, 600, 150, 1),
+                new Brick(100, 100, 200, 150, 1)});
+        BallStore balls = new BallStore(2);
+        balls.add(150, 200, 10, 0, 0, 0);
+        balls.setSpeeds(0, 0, -1000);
+        balls.add(550, 200, 10, 0, 0, 0);
+        balls.setSpeeds(1, 0, -1000);
+
+        Paddle paddle = new Paddle(0, 900, 1000, 950, 0);
+        BallMover first = new BallMover(balls, grid);
+        first.setPaddle(paddle);
+        BallMover second = new BallMover(balls, grid);
+        second.setPaddle(paddle);
+        //the first mover happened to take the later chunk of balls
+        first.move(1, 2, 100);
+        second.move(0, 1, 100);
+
+        BallMover.applyHits(new BallMover[] {first, second}, bricks);
+
+        assertEquals(2, bricks.getBrokenCount());
+        assertEquals(1, bricks.getBroken(0));
+        assertEquals(0, bricks.getBroken(1));
+    }
+}
@@ -0,0 +1,54 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for keeping track of bricks with BrickStore.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class BrickStoreTest {
+
+    @Test
+    public void hit_breaksBrickOnceWhenNoHitsAreLeft() throws Exception {
+        BrickStore store = new BrickStore(new WallGrid(1000, 1000, 100));
+        Brick twoHits = new Brick(0, 0, 100, 50, 2);
+        store.set(new Brick[] {new Brick(200, 0, 300, 50, 1), null, twoHits});
+        assertEquals(3, store.size());
+        assertEquals(2, store.getLiveCount());
+        assertFalse(store.isLive(1));
+
+        assertFalse(store.hit(twoHits));
+        assertEquals(1, twoHits.getRemainingHits());
+        assertEquals(0, store.getBrokenCount());
+
+        assertTrue(store.hit(twoHits));
+        //a brick hit again the tick it broke is not broken twice
+        assertFalse(store.hit(twoHits));
+        assertFalse(store.isLive(2));
+        assertEquals(1, store.getLiveCount());
+        assertEquals(1, store.getBrokenCount());
+        assertEquals(2, store.getBroken(0));
+
+        store.clearBroken();
+        assertEquals(0, store.getBrokenCount());
+    }
+
+    @Test
+    public void hit_marksOnlyTheHitBrickChanged() throws Exception {
+        BrickStore store = new BrickStore(new WallGrid(1000, 1000, 100));
+        Brick hit = new Brick(0, 0, 100, 50, 3);
+        store.set(new Brick[] {hit, new Brick(200, 0, 300, 50, 3)});
+        int version = store.getVersion();
+        int layout = store.getLayoutVersion();
+
+        store.hit(hit);
+
+        assertTrue(store.getChangedAt(0) > version);
+        assertTrue(store.getChangedAt(1) <= version);
+        assertEquals(layout, store.getLayoutVersion());
+    }
+}
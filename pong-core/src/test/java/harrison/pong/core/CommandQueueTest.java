@@ -0,0 +1,84 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for passing commands between threads with CommandQueue.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class CommandQueueTest {
+
+    @Test
+    public void poll_givesCommandsInOrderOffered() throws Exception {
+        CommandQueue queue = new CommandQueue(4);
+
+        for (int lap = 0; lap < 3; lap++) {
+            for (long command = 1; command <= 4; command++) {
+                assertTrue(queue.offer(command));
+            }
+            for (long command = 1; command <= 4; command++) {
+                assertEquals(command, queue.poll());
+            }
+            assertEquals(CommandQueue.EMPTY, queue.poll());
+        }
+    }
+
+    @Test
+    public void offer_failsWhenFull() throws Exception {
+        CommandQueue queue = new CommandQueue(3); //room for 4
+
+        for (long command = 1; command <= 4; command++) {
+            assertTrue(queue.offer(command));
+        }
+        assertFalse(queue.offer(5));
+
+        queue.poll();
+        assertTrue(queue.offer(5));
+    }
+
+    @Test
+    public void poll_getsEveryCommandFromManyThreadsOnce() throws Exception {
+        final CommandQueue queue = new CommandQueue(64);
+        final int adders = 4;
+        final int perAdder = 50000;
+
+        Thread[] threads = new Thread[adders];
+        for (int t = 0; t < adders; t++) {
+            final long first = (long) t*perAdder + 1;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (long command = first; command < first+perAdder; command++) {
+                        while (!queue.offer(command)) {
+                            Thread.yield(); //full, wait for the taker
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+
+        boolean[] seen = new boolean[adders*perAdder + 1];
+        //each adder's commands must arrive in the order it added them
+        long[] lastFrom = new long[adders];
+        for (int taken = 0; taken < adders*perAdder; ) {
+            long command = queue.poll();
+            if (command == CommandQueue.EMPTY) continue;
+
+            assertFalse(seen[(int) command]);
+            seen[(int) command] = true;
+            int adder = (int) ((command-1)/perAdder);
+            assertTrue(command > lastFrom[adder]);
+            lastFrom[adder] = command;
+            taken++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(CommandQueue.EMPTY, queue.poll());
+    }
+}
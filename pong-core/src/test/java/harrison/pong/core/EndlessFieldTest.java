@@ -0,0 +1,172 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the endless brick field.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class EndlessFieldTest {
+
+    @Test
+    public void advance_makesTheSameChunksForTheSameSeed() throws Exception {
+        EndlessField first = new EndlessField(8, 0, 100, 1200, 700, 50);
+        EndlessField second = new EndlessField(8, 0, 100, 1200, 700, 50);
+        first.reset();
+        second.reset();
+        for (int i = 0; i < 25; i++) {
+            first.advance();
+            second.advance();
+        }
+
+        Brick[] a = first.getBricks();
+        Brick[] b = second.getBricks();
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(a[i] == null, b[i] == null);
+            if (a[i] == null) continue;
+            assertEquals(a[i].getTop(), b[i].getTop());
+            assertEquals(a[i].getRemainingHits(), b[i].getRemainingHits());
+        }
+    }
+
+    @Test
+    public void advance_reusesTheSameBricksInsideTheField() throws Exception {
+        EndlessField field = new EndlessField(1, 0, 100, 1200, 700, 50);
+        field.reset();
+        Brick[] bricks = field.getBricks();
+        int count = bricks.length;
+
+        for (int i = 0; i < 1000; i++) {
+            field.advance();
+        }
+
+        assertSame(bricks, field.getBricks());
+        assertEquals(count, field.getBricks().length);
+        for (Brick brick : bricks) {
+            if (brick == null) continue;
+            assertTrue(brick.getTop() >= 100);
+            assertTrue(brick.getBottom() <= 700);
+        }
+    }
+
+    @Test
+    public void endlessGame_keepsGoingOnceTheFirstBricksAreBroken() throws Exception {
+        PongGame pong = new PongGame(11);
+        pong.setEndless(true);
+        Brick[] bricks = pong.getBricks();
+
+        //a paddle as wide as the screen never misses
+        pong.postPaddleSize(pong.getScreenWidth());
+        pong.postStartOrResetBall(4000, 5000);
+        for (int tick = 0; tick < 30000; tick++) {
+            if (tick % 1000 == 0) pong.postAddBall(4000, 5000);
+            pong.tick();
+        }
+
+        assertFalse(pong.isGameOver());
+        assertSame(bricks, pong.getBricks());
+    }
+
+    @Test
+    public void endlessGame_movesTheFieldWithoutReplacingItOrLandingOnBalls() throws Exception {
+        PongGame pong = new PongGame(4);
+        pong.setEndless(true);
+        pong.postPaddleSize(pong.getScreenWidth());
+        pong.postStartOrResetBall(4000, 5000);
+        GameSnapshot snapshot = new GameSnapshot();
+        pong.copyTo(snapshot);
+        int layout = snapshot.getLayoutVersion();
+
+        for (int tick = 0; tick < 8000; tick++) {
+            if (tick % 500 == 0) pong.postAddBall(4000, 5000);
+            pong.tick();
+
+            //no ball's center is ever inside a brick
+            BallStore balls = pong.getBalls();
+            for (Brick brick : pong.getBricks()) {
+                if (brick == null) continue;
+                for (int i = 0; i < balls.size(); i++) {
+                    assertFalse(brick.isPointWithin((int) balls.getX(i),
+                            (int) balls.getY(i), 0));
+                }
+            }
+        }
+
+        //the field moved down a chunk at a time, never replaced all at once
+        pong.copyTo(snapshot);
+        assertEquals(layout, snapshot.getLayoutVersion());
+    }
+
+    @Test
+    public void endlessGame_movesAnywayOnceItHasWaitedLongEnoughForABall() throws Exception {
+        PongGame pong = new PongGame(4);
+        pong.setEndless(true);
+        pong.postPaddleSize(pong.getScreenWidth());
+        pong.postStartOrResetBall(4000, 5000);
+        pong.tick();
+
+        //the highest brick with nothing where the field will move it to
+        Brick[] bricks = pong.getBricks();
+        int target = -1;
+        int chunkHeight = 0;
+        for (int i = 0; i < bricks.length; i++) {
+            Brick brick = bricks[i];
+            if (brick == null) continue;
+            if (target >= 0 && brick.getTop() >= bricks[target].getTop()) continue;
+
+            int height = 2*(brick.getBottom() - brick.getTop());
+            if (brickAt(bricks, centerX(brick), centerY(brick) + height) < 0) {
+                target = i;
+                chunkHeight = height;
+            }
+        }
+        assertTrue(target >= 0);
+        Brick brick = bricks[target];
+        int top = brick.getTop();
+
+        //a ball that stays right there
+        BallStore balls = pong.getBalls();
+        balls.setSpeeds(0, 0, 0);
+        balls.translate(0, centerX(brick) - balls.getX(0),
+                centerY(brick) + chunkHeight - balls.getY(0));
+
+        //the bricks in the same row, which have nowhere to go but down
+        boolean[] inRow = new boolean[bricks.length];
+        for (int i = 0; i < bricks.length; i++) {
+            inRow[i] = i != target && bricks[i] != null
+                    && bricks[i].getTop() == top;
+        }
+
+        for (int tick = 0; tick < 2500; tick++) {
+            pong.tick();
+        }
+
+        //the field moved once, leaving out the brick that landed on the ball
+        assertNull(pong.getBricks()[target]);
+        for (int i = 0; i < bricks.length; i++) {
+            if (inRow[i]) assertEquals(top + chunkHeight, bricks[i].getTop());
+        }
+    }
+
+    private static int centerX(Brick brick) {
+        return (brick.getLeft() + brick.getRight())/2;
+    }
+
+    private static int centerY(Brick brick) {
+        return (brick.getTop() + brick.getBottom())/2;
+    }
+
+    /**
+     * @return index of the standing brick a point is in, -1 if none
+     */
+    private static int brickAt(Brick[] bricks, int x, int y) {
+        for (int i = 0; i < bricks.length; i++) {
+            if (bricks[i] != null && bricks[i].isPointWithin(x, y, 0)) return i;
+        }
+        return -1;
+    }
+}
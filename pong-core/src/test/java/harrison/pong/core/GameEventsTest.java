@@ -0,0 +1,97 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for passing game events to the controls with GameEvents.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class GameEventsTest {
+
+    @Test
+    public void deliverTo_tellsEachKindOnceWithLatestScore() throws Exception {
+        GameEvents events = new GameEvents();
+        for (int score = 1; score <= 5; score++) {
+            events.postScore(score);
+        }
+        events.post(GameEvents.BALL_RESTARTED);
+        events.post(GameEvents.BALL_RESTARTED);
+
+        RecordingListener listener = new RecordingListener();
+        events.deliverTo(listener);
+        assertEquals("score 5, restarted, ", listener.calls.toString());
+
+        //nothing new, so nothing to tell
+        events.deliverTo(listener);
+        assertEquals("score 5, restarted, ", listener.calls.toString());
+    }
+
+    @Test
+    public void deliverTo_tellsInOrderEventsLastHappened() throws Exception {
+        GameEvents events = new GameEvents();
+        events.post(GameEvents.GAME_BEGIN);
+        events.post(GameEvents.GAME_OVER);
+        events.post(GameEvents.GAME_BEGIN);
+        events.post(GameEvents.BALL_STARTED);
+
+        RecordingListener listener = new RecordingListener();
+        events.deliverTo(listener);
+        assertEquals("over, begin, started, ", listener.calls.toString());
+    }
+
+    @Test
+    public void post_wakesListenerOncePerBatch() throws Exception {
+        final GameEvents events = new GameEvents();
+        final int[] wakes = new int[1];
+        events.setOnPending(new Runnable() {
+            @Override
+            public void run() {
+                wakes[0]++;
+            }
+        });
+
+        events.post(GameEvents.GAME_OVER);
+        events.postScore(3);
+        assertEquals(1, wakes[0]);
+
+        events.deliverTo(new RecordingListener());
+        events.post(GameEvents.GAME_BEGIN);
+        assertEquals(2, wakes[0]);
+    }
+
+    /**
+     * a GameListener that writes down what it is told
+     */
+    private static class RecordingListener implements GameListener {
+        StringBuilder calls = new StringBuilder();
+
+        @Override
+        public void gameBegin() {
+            calls.append("begin, ");
+        }
+
+        @Override
+        public void ballRestarted() {
+            calls.append("restarted, ");
+        }
+
+        @Override
+        public void ballStarted() {
+            calls.append("started, ");
+        }
+
+        @Override
+        public void scoreChanged(int score) {
+            calls.append("score ").append(score).append(", ");
+        }
+
+        @Override
+        public void gameOver() {
+            calls.append("over, ");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for drawing copies of the game with GameSnapshot.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class GameSnapshotTest {
+
+    @Test
+    public void drawStaticChangedSince_redrawsOnlyAroundHitBrick() throws Exception {
+        PongGame pong = new PongGame();
+        Brick target = new Brick(1325, 300, 1525, 400, 3);
+        pong.setBricks(new Brick[] {new Brick(200, 300, 400, 400, 3), target});
+        pong.startBall(4000, 4000);
+        pong.getBalls().setVelocity(0, 4000, Math.PI/2); //straight up
+
+        GameSnapshot before = new GameSnapshot();
+        pong.copyTo(before);
+        GameSnapshot after = new GameSnapshot();
+        for (int tick = 0; tick < 200; tick++) {
+            pong.tick();
+            pong.copyTo(after);
+            if (after.getStaticVersion() != before.getStaticVersion()) break;
+        }
+        assertEquals(2, target.getRemainingHits());
+        assertEquals(before.getLayoutVersion(), after.getLayoutVersion());
+
+        ClipRecorder recorder = new ClipRecorder();
+        after.drawStaticChangedSince(recorder, before.getStaticVersion());
+
+        assertEquals("clip 1320,295,1530,405, clear, restore, ",
+                recorder.calls.toString());
+    }
+
+    /**
+     * a Renderer that writes down clipping and clearing, but not drawing
+     */
+    private static class ClipRecorder implements Renderer {
+        StringBuilder calls = new StringBuilder();
+
+        @Override
+        public void fillRect(int left, int top, int right, int bottom, int color) {}
+        @Override
+        public void strokeRect(int left, int top, int right, int bottom,
+                               int color, float width) {}
+        @Override
+        public void fillCircle(float x, float y, float radius, int color) {}
+        @Override
+        public void drawLine(float startX, float startY, float endX, float endY,
+                             int color) {}
+        @Override
+        public void drawText(String text, float x, float y, float size,
+                             int color, int align) {}
+
+        @Override
+        public void clearRect(int left, int top, int right, int bottom) {
+            calls.append("clear, ");
+        }
+
+        @Override
+        public void clipRect(int left, int top, int right, int bottom) {
+            calls.append("clip ").append(left).append(',').append(top).append(',')
+                    .append(right).append(',').append(bottom).append(", ");
+        }
+
+        @Override
+        public void restoreClip() {
+            calls.append("restore, ");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for recording games and playing them again.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class InputRecordingTest {
+
+    @Test
+    public void replay_endsInExactlyTheRecordedState() throws Exception {
+        PongGame pong = new PongGame(1234);
+        InputRecording recording = pong.startRecording();
+        play(pong);
+
+        PongGame replayed = PongGame.replay(recording);
+
+        assertEquals(pong.stateHash(), replayed.stateHash());
+        assertEquals(pong.getBallCount(), replayed.getBallCount());
+    }
+
+    @Test
+    public void replay_ofSavedRecordingEndsInRecordedState() throws Exception {
+        PongGame pong = new PongGame(99);
+        InputRecording recording = pong.startRecording();
+        play(pong);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        recording.writeTo(new DataOutputStream(bytes));
+        InputRecording loaded = InputRecording.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(recording.size(), loaded.size());
+        assertEquals(pong.stateHash(), PongGame.replay(loaded).stateHash());
+    }
+
+    @Test
+    public void replay_ofSavedEndlessRecordingPlaysTheEndlessField() throws Exception {
+        PongGame pong = new PongGame(31);
+        pong.setEndless(true);
+        InputRecording recording = pong.startRecording();
+        play(pong);
+        for (int tick = 0; tick < 2000; tick++) {
+            pong.tick();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        recording.writeTo(new DataOutputStream(bytes));
+        InputRecording loaded = InputRecording.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertTrue(loaded.isEndless());
+        assertEquals(pong.stateHash(), PongGame.replay(loaded).stateHash());
+    }
+
+    @Test
+    public void sameSeed_givesSameGame() throws Exception {
+        PongGame first = new PongGame(5);
+        PongGame second = new PongGame(5);
+        play(first);
+        play(second);
+
+        assertEquals(first.stateHash(), second.stateHash());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void startRecording_failsOnceGameHasTicked() throws Exception {
+        PongGame pong = new PongGame(1);
+        pong.tick();
+        pong.startRecording();
+    }
+
+    /**
+     * plays a game the way a player might: moving and resizing the paddle,
+     * starting the ball and adding balls
+     */
+    private static void play(PongGame pong) {
+        for (int x = 300; x < 2000; x += 100) {
+            pong.postTouch(x);
+            pong.tick();
+        }
+        pong.postPaddleSize(600);
+        pong.postPaddleSize(650);
+        pong.postStartOrResetBall(4000, 5000);
+        for (int tick = 0; tick < 1500; tick++) {
+            if (tick % 100 == 0) {
+                pong.postAddBall(4000, 5000);
+            }
+            if (tick % 7 == 0) {
+                pong.postTouch(300 + (tick*37) % 2000);
+            }
+            pong.tick();
+        }
+    }
+}
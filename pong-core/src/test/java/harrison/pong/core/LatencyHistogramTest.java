@@ -0,0 +1,76 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for counting times with LatencyHistogram and PhaseTimings.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void getPercentile_isWithinOneBucketOfExact() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        //1 to 10000 microseconds
+        for (long micros = 1; micros <= 10000; micros++) {
+            histogram.record(micros*1000);
+        }
+
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10000000, histogram.getMax());
+        assertPercentile(5000000, histogram.getPercentile(50));
+        assertPercentile(9500000, histogram.getPercentile(95));
+        assertPercentile(9900000, histogram.getPercentile(99));
+        assertEquals(10000000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void getPercentile_isExactForSmallTimes() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 0; nanos < 10; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(4, histogram.getPercentile(50));
+        assertEquals(9, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void reset_forgetsEverything() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(123456789);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void writeTo_listsOnlyRecordedPhases() throws Exception {
+        PongGame pong = new PongGame();
+        pong.startBall(4000, 5000);
+        for (int i = 0; i < 100; i++) {
+            pong.tick();
+        }
+
+        StringBuilder table = new StringBuilder();
+        pong.getTimings().writeTo(table);
+
+        assertTrue(table.toString().contains("move "));
+        assertTrue(table.toString().contains("tick "));
+        assertFalse(table.toString().contains("draw "));
+    }
+
+    /**
+     * checks a percentile is no less than exact, and within 12.5% over
+     */
+    private static void assertPercentile(long exact, long actual) {
+        assertTrue(actual + " < " + exact, actual >= exact);
+        assertTrue(actual + " too far over " + exact, actual <= exact*1.125);
+    }
+}
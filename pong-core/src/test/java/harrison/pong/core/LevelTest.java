@@ -0,0 +1,72 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for compiling and reading levels with Level.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class LevelTest {
+
+    @Test
+    public void read_givesTheBricksCompiledStretchedToTheGame() throws Exception {
+        ByteBuffer level = compile("# two rows\n"
+                + "size 1275 650\n"
+                + "brick 10 20 30 40 3\n"
+                + "\n"
+                + "row 100 200 50 25 2 1\n");
+
+        Brick[] bricks = Level.read(level, 2550, 1300);
+
+        assertEquals(3, bricks.length);
+        assertEquals(20, bricks[0].getLeft());
+        assertEquals(80, bricks[0].getBottom());
+        assertEquals(3, bricks[0].getRemainingHits());
+        assertEquals(300, bricks[2].getLeft());
+        assertEquals(400, bricks[2].getRight());
+        assertEquals(1, bricks[2].getRemainingHits());
+        assertEquals(0, level.position());
+    }
+
+    @Test
+    public void setLevel_isPlayedAgainInEveryNewGame() throws Exception {
+        PongGame pong = new PongGame(3);
+        pong.setLevel(compile("size 2550 1300\nrow 200 200 300 100 4 2\n"));
+        assertEquals(4, pong.getBricks().length);
+
+        pong.postNewGame();
+        pong.tick();
+        assertEquals(4, pong.getBricks().length);
+        assertEquals(200, pong.getBricks()[0].getLeft());
+    }
+
+    @Test(expected = IOException.class)
+    public void read_failsOnALevelCutShort() throws Exception {
+        ByteBuffer level = compile("size 100 100\nrow 0 0 10 10 5 1\n");
+        level.limit(level.limit()-1);
+        Level.read(level, 100, 100);
+    }
+
+    @Test(expected = IOException.class)
+    public void compile_failsOnAMistake() throws Exception {
+        compile("size 100 100\nbrick 1 2 3\n");
+    }
+
+    private static ByteBuffer compile(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Level.compile(new BufferedReader(new StringReader(text)),
+                new DataOutputStream(bytes));
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,319 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the game logic in PongGame.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class PongGameTest {
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * @return bytes allocated so far by this thread
+     */
+    private static long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Runs an action a few times and gives the fewest bytes any run
+     * allocated, so that one-off allocations made by the JVM itself
+     * (e.g. while compiling) are not blamed on the action.
+     */
+    private static long leastAllocatedBy(Runnable action) {
+        //measuring may allocate a little itself, so find out how much
+        allocatedBytes();
+        long overhead = -allocatedBytes() + allocatedBytes();
+
+        long least = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long before = allocatedBytes();
+            action.run();
+            long after = allocatedBytes();
+            least = Math.min(least, after - before - overhead);
+        }
+        return least;
+    }
+
+    @Test
+    public void tick_allocatesNothing() throws Exception {
+        final PongGame pong = new PongGame();
+        //a paddle as wide as the screen keeps every ball in play
+        pong.changePaddleSize(2550);
+        pong.startBall(4000, 5000);
+        for (int i = 0; i < 50; i++) {
+            pong.addBall(4000, 5000);
+        }
+
+        //let scratch arrays grow to their working size
+        for (int i = 0; i < 200; i++) {
+            pong.tick();
+        }
+
+        long allocated = leastAllocatedBy(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    pong.tick();
+                }
+            }
+        });
+
+        assertEquals(0, allocated);
+    }
+
+    @Test
+    public void draw_allocatesNothingWhileScoreIsUnchanged() throws Exception {
+        final PongGame pong = new PongGame();
+        final Renderer canvas = new NullRenderer();
+
+        for (int i = 0; i < 200; i++) {
+            pong.draw(canvas, 0);
+        }
+        int madeByFirstFrames = pong.getRenderAllocations();
+
+        long allocated = leastAllocatedBy(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    pong.draw(canvas, i/1000f);
+                }
+            }
+        });
+
+        assertEquals(madeByFirstFrames, pong.getRenderAllocations());
+        assertEquals(0, allocated);
+    }
+
+    @Test
+    public void tick_movesBallsTheSameOnManyThreads() throws Exception {
+        PongGame sequential = newGameWithBalls(2000);
+        PongGame parallel = newGameWithBalls(2000);
+        parallel.setPhysicsThreads(4);
+
+        try {
+            for (int tick = 0; tick < 300; tick++) {
+                sequential.tick();
+                parallel.tick();
+            }
+        }
+        finally {
+            parallel.shutdown();
+        }
+
+        BallStore expected = sequential.getBalls();
+        BallStore actual = parallel.getBalls();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i), 0);
+            assertEquals(expected.getY(i), actual.getY(i), 0);
+            assertEquals(expected.getXSpeed(i), actual.getXSpeed(i), 0);
+            assertEquals(expected.getYSpeed(i), actual.getYSpeed(i), 0);
+        }
+        for (int i = 0; i < sequential.getBricks().length; i++) {
+            assertEquals(sequential.getBricks()[i] == null,
+                    parallel.getBricks()[i] == null);
+        }
+    }
+
+    @Test
+    public void tick_runsOnlyTheLastOfManyPostedTouches() throws Exception {
+        PongGame pong = new PongGame();
+        double startX = pong.getBalls().getX(0);
+        assertTrue(pong.postTouch(500));
+        assertTrue(pong.postTouch(800));
+        //nothing changes until the game ticks
+        assertEquals(startX, pong.getBalls().getX(0), 0);
+
+        pong.tick();
+
+        //the waiting ball follows the paddle
+        assertEquals(800, pong.getBalls().getX(0), 0);
+    }
+
+    @Test
+    public void tick_bouncesAFastBallThePaddleMovedOnto() throws Exception {
+        PongGame pong = new PongGame();
+        pong.startBall(4000, 4000);
+        BallStore balls = pong.getBalls();
+        Paddle paddle = pong.getPaddle();
+
+        //falling fast, beside the paddle and level with its middle
+        balls.setX(0, paddle.getLeft() > 500 ? 200 : pong.getScreenWidth()-200);
+        balls.translate(0, 0, paddle.getCenterY() - balls.getY(0));
+        balls.setSpeeds(0, 0, 7000);
+
+        pong.postTouch((int) balls.getX(0));
+        pong.tick();
+
+        assertTrue(balls.getYSpeed(0) < 0);
+        assertTrue(balls.getY(0) < paddle.getBottom());
+        assertTrue(pong.isBallInPlay());
+    }
+
+    @Test
+    public void restoreState_carriesOnExactlyAsSaved() throws Exception {
+        PongGame pong = newGameWithBalls(20);
+        for (int i = 0; i < 300; i++) {
+            pong.tick();
+        }
+
+        PongGame restored = new PongGame(99);
+        restored.restoreState(pong.saveState(null));
+
+        assertEquals(pong.stateHash(), restored.stateHash());
+        for (int i = 0; i < 500; i++) {
+            pong.tick();
+            restored.tick();
+        }
+        assertEquals(pong.stateHash(), restored.stateHash());
+    }
+
+    @Test
+    public void restoreState_carriesOnAnEndlessField() throws Exception {
+        PongGame pong = new PongGame(5);
+        pong.setEndless(true);
+        pong.setAutopilot(true);
+        pong.startBall(3000, 3000);
+        for (int i = 0; i < 4000; i++) {
+            pong.tick();
+        }
+
+        PongGame restored = new PongGame(6);
+        restored.restoreState(pong.saveState(null));
+        restored.setAutopilot(true);
+
+        for (int i = 0; i < 4000; i++) {
+            pong.tick();
+            restored.tick();
+        }
+        assertEquals(pong.stateHash(), restored.stateHash());
+    }
+
+    @Test
+    public void saveState_reusesABigEnoughBuffer() throws Exception {
+        PongGame pong = new PongGame();
+        ByteBuffer buffer = pong.saveState(null);
+
+        assertSame(buffer, pong.saveState(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test(expected = IOException.class)
+    public void restoreState_rejectsWhatIsNotASavedGame() throws Exception {
+        new PongGame().restoreState(ByteBuffer.wrap(new byte[64]));
+    }
+
+    @Test
+    public void restoreState_leavesTheGameAsItWasIfTheSaveIsCutShort() throws Exception {
+        PongGame saved = new PongGame(8);
+        saved.setEndless(true);
+        saved.startBall(3000, 3000);
+        for (int i = 0; i < 100; i++) {
+            saved.tick();
+        }
+        ByteBuffer state = saved.saveState(null);
+        state.limit(state.limit() - 1);
+
+        PongGame pong = new PongGame();
+        long hash = pong.stateHash();
+        Brick[] bricks = pong.getBricks();
+        try {
+            pong.restoreState(state);
+            fail("a cut short save was restored");
+        }
+        catch (IOException e) {
+            //expected
+        }
+
+        assertEquals(hash, pong.stateHash());
+        assertSame(bricks, pong.getBricks());
+        assertEquals(0, pong.getStep());
+    }
+
+    @Test(expected = IOException.class)
+    public void restoreState_rejectsTooManyBalls() throws Exception {
+        PongGame pong = new PongGame();
+        ByteBuffer state = pong.saveState(null);
+        //the ball count follows the header, score, lives, flags and paddle
+        state.putInt(8+8+8+8+4+4+1+4+4, Integer.MAX_VALUE);
+        new PongGame().restoreState(state);
+    }
+
+    @Test(expected = IOException.class)
+    public void restoreState_rejectsARandomStateOfZero() throws Exception {
+        ByteBuffer state = new PongGame().saveState(null);
+        //the random state follows the header, seed and step
+        state.putLong(4+4+8+8, 0);
+        new PongGame().restoreState(state);
+    }
+
+    @Test(expected = IOException.class)
+    public void restoreState_rejectsABrickWithNoWidth() throws Exception {
+        ByteBuffer state = new PongGame().saveState(null);
+        //the ball count follows the header, score, lives, flags and paddle
+        int ballsAt = 8+8+8+8+4+4+1+4+4;
+        int bricksAt = ballsAt + 4 + state.getInt(ballsAt)*40;
+        //the first brick's hits, left, top, right, bottom
+        int brick = bricksAt + 4;
+        state.putInt(brick + 12, state.getInt(brick + 4));
+        new PongGame().restoreState(state);
+    }
+
+    /**
+     * @param numBalls number of balls to put in play
+     * @return a game with the same balls every time,
+     *          and a paddle as wide as the screen
+     */
+    private static PongGame newGameWithBalls(int numBalls) {
+        PongGame game = new PongGame();
+        game.changePaddleSize(2550);
+        game.startBall(4000, 4000);
+        game.getBalls().setVelocity(0, 4000, 1.0);
+
+        Random random = new Random(42);
+        for (int i = 1; i < numBalls; i++) {
+            game.getBalls().add(200 + random.nextInt(2150), 300 + random.nextInt(800),
+                    45, 2000 + random.nextInt(5000), random.nextDouble()*2*Math.PI,
+                    0xff0000ff);
+        }
+        return game;
+    }
+
+    /**
+     * a Renderer that draws nothing
+     */
+    private static class NullRenderer implements Renderer {
+        @Override
+        public void fillRect(int left, int top, int right, int bottom, int color) {}
+        @Override
+        public void strokeRect(int left, int top, int right, int bottom,
+                               int color, float width) {}
+        @Override
+        public void fillCircle(float x, float y, float radius, int color) {}
+        @Override
+        public void drawLine(float startX, float startY, float endX, float endY,
+                             int color) {}
+        @Override
+        public void drawText(String text, float x, float y, float size,
+                             int color, int align) {}
+        @Override
+        public void clearRect(int left, int top, int right, int bottom) {}
+        @Override
+        public void clipRect(int left, int top, int right, int bottom) {}
+        @Override
+        public void restoreClip() {}
+    }
+}
@@ -0,0 +1,66 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for passing snapshots between threads with SnapshotBuffer.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class SnapshotBufferTest {
+
+    @Test
+    public void getLatest_givesNewestPublishedSnapshot() throws Exception {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+
+        for (int i = 1; i <= 3; i++) {
+            buffer.getBack().setTime(i);
+            buffer.publish();
+        }
+
+        assertEquals(3, buffer.getLatest().getTime());
+        //nothing newer, so the same snapshot again
+        assertEquals(3, buffer.getLatest().getTime());
+    }
+
+    @Test
+    public void getBack_neverGivesSnapshotBeingDrawn() throws Exception {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+
+        for (int i = 0; i < 10; i++) {
+            buffer.publish();
+            GameSnapshot drawn = buffer.getLatest();
+            assertNotSame(drawn, buffer.getBack());
+            buffer.publish();
+            assertNotSame(drawn, buffer.getBack());
+        }
+    }
+
+    @Test
+    public void getLatest_neverGoesBackInTimeWhilePublishing() throws Exception {
+        final SnapshotBuffer buffer = new SnapshotBuffer();
+        final int published = 200000;
+
+        Thread writer = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 1; i <= published; i++) {
+                    buffer.getBack().setTime(i);
+                    buffer.publish();
+                }
+            }
+        };
+        writer.start();
+
+        long last = 0;
+        while (last < published) {
+            long time = buffer.getLatest().getTime();
+            assertTrue(time >= last);
+            last = time;
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,80 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for passing touch samples to the game and guessing
+ * where the finger will be with TouchTracker.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class TouchTrackerTest {
+
+    private static final long MILLI = 1000000L;
+
+    @Test
+    public void predict_followsSteadyMovementAhead() throws Exception {
+        TouchTracker touches = new TouchTracker();
+        //one pixel a milli, sampled every 4 millis
+        for (int t = 0; t <= 100; t += 4) {
+            assertTrue(touches.add(500+t, t*MILLI));
+        }
+        assertTrue(touches.update());
+
+        assertEquals(600, touches.predict(100*MILLI, 0));
+        assertEquals(620, touches.predict(105*MILLI, 15*MILLI));
+    }
+
+    @Test
+    public void predict_givesLastSampleOnceFingerLiftsOrStops() throws Exception {
+        TouchTracker touches = new TouchTracker();
+        for (int t = 0; t <= 100; t += 4) {
+            touches.add(500+t, t*MILLI);
+        }
+        touches.update();
+        //no samples for a long time: the finger is held still
+        assertFalse(touches.isMoving(300*MILLI));
+        assertEquals(600, touches.predict(300*MILLI, 20*MILLI));
+
+        touches.addLift(610, 110*MILLI);
+        touches.update();
+        assertFalse(touches.isMoving(110*MILLI));
+        assertEquals(610, touches.predict(110*MILLI, 20*MILLI));
+    }
+
+    @Test
+    public void add_failsWhenFullUntilUpdated() throws Exception {
+        TouchTracker touches = new TouchTracker();
+        int added = 0;
+        while (touches.add(added, added*MILLI)) {
+            added++;
+        }
+        assertEquals(64, added);
+
+        assertTrue(touches.update());
+        assertFalse(touches.update());
+        assertTrue(touches.add(0, 0));
+    }
+
+    @Test
+    public void touches_areRecordedSoReplayNeedsNoSamples() throws Exception {
+        PongGame pong = new PongGame(7);
+        InputRecording recording = pong.startRecording();
+        long now = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            pong.getTouches().add(400+20*i, now + i*4*MILLI);
+            pong.tick();
+        }
+        pong.getTouches().addLift(1400, now + 200*MILLI);
+        pong.tick();
+        pong.postStartOrResetBall(4000, 5000);
+        for (int i = 0; i < 200; i++) {
+            pong.tick();
+        }
+
+        assertEquals(pong.stateHash(), PongGame.replay(recording).stateHash());
+    }
+}
@@ -0,0 +1,94 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for finding walls with WallGrid, checked against
+ * looking through every wall.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class WallGridTest {
+
+    private static final int SIZE = 1000;
+    private static final int CELL = 100;
+
+    @Test
+    public void find_findsWhatALinearScanFinds_asWallsComeAndGo() throws Exception {
+        Random random = new Random(7);
+        WallGrid grid = new WallGrid(SIZE, SIZE, CELL);
+        WallGrid.Query query = grid.newQuery();
+        List<Wall> inGrid = new ArrayList<Wall>();
+        List<Integer> ids = new ArrayList<Integer>();
+
+        for (int round = 0; round < 2000; round++) {
+            //mostly inserts early on, then as many removes as inserts
+            if (inGrid.isEmpty() || random.nextInt(round < 500 ? 4 : 2) != 0) {
+                Wall wall = randomWall(random);
+                ids.add(grid.insert(wall));
+                inGrid.add(wall);
+            }
+            else {
+                int k = random.nextInt(inGrid.size());
+                grid.remove(ids.remove(k));
+                inGrid.remove(k);
+            }
+
+            double left = random.nextInt(SIZE + 200) - 100;
+            double top = random.nextInt(SIZE + 200) - 100;
+            double right = left + random.nextInt(300);
+            double bottom = top + random.nextInt(300);
+            int found = query.find(left, top, right, bottom);
+
+            Set<Wall> results = new HashSet<Wall>();
+            for (int k = 0; k < found; k++) {
+                Wall wall = query.getResult(k);
+                assertTrue("found a wall twice", results.add(wall));
+                assertTrue("found a removed wall", inGrid.contains(wall));
+                //only walls in the cells searched are found
+                assertTrue("found a wall in no cell searched",
+                        cell(wall.getLeft()) <= cell(right)
+                        && cell(wall.getRight()) >= cell(left)
+                        && cell(wall.getTop()) <= cell(bottom)
+                        && cell(wall.getBottom()) >= cell(top));
+            }
+            for (Wall wall : inGrid) {
+                if (overlaps(wall, left, top, right, bottom)) {
+                    assertTrue("missed a wall", results.contains(wall));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a wall somewhere on, or just off, the grid
+     */
+    private static Wall randomWall(Random random) {
+        int left = random.nextInt(SIZE + 200) - 100;
+        int top = random.nextInt(SIZE + 200) - 100;
+        return new Wall(left, top, left + 1 + random.nextInt(250),
+                top + 1 + random.nextInt(250), 0);
+    }
+
+    /**
+     * @return the row or column holding a coord, clamped to the grid
+     */
+    private static int cell(double coord) {
+        return Math.max(0, Math.min((int) (coord/CELL), SIZE/CELL));
+    }
+
+    private static boolean overlaps(Wall wall, double left, double top,
+                                    double right, double bottom) {
+        return wall.getLeft() <= right && wall.getRight() >= left
+                && wall.getTop() <= bottom && wall.getBottom() >= top;
+    }
+}
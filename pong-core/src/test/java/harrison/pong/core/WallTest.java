@@ -0,0 +1,68 @@
+package harrison.pong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for finding where moving balls touch a Wall.
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+public class WallTest {
+
+    @Test
+    public void sweep_missesPastACornerOutsideTheBallsRadius() throws Exception {
+        Wall wall = new Wall(100, 100, 200, 200, 0);
+        Contact contact = new Contact();
+        contact.reset();
+
+        //passes within the grown wall's square corner, but over 10 from it
+        assertFalse(wall.sweep(72, 112, 40, -40, 10, contact));
+        assertNull(contact.getWall());
+    }
+
+    @Test
+    public void sweep_bouncesOffACornerAlongItsNormal() throws Exception {
+        Wall wall = new Wall(100, 100, 200, 200, 0);
+        Contact contact = new Contact();
+        contact.reset();
+
+        assertTrue(wall.sweep(80, 80, 20, 20, 10, contact));
+
+        double reach = 100 - 10/Math.sqrt(2);
+        assertEquals((reach-80)/20, contact.getTime(), 1e-9);
+        assertEquals(-1/Math.sqrt(2), contact.getNormalX(), 1e-9);
+        assertEquals(-1/Math.sqrt(2), contact.getNormalY(), 1e-9);
+    }
+
+    @Test
+    public void sweep_touchesAtOnceABallAlreadyInsideMovingIn() throws Exception {
+        Wall wall = new Wall(100, 100, 200, 130, 0);
+        Contact contact = new Contact();
+        contact.reset();
+
+        assertTrue(wall.sweep(150, 139.5, 0, -70, 10, contact));
+        assertEquals(0, contact.getTime(), 0);
+        assertEquals(0, contact.getNormalX(), 0);
+        assertEquals(1, contact.getNormalY(), 0);
+
+        //moving out, it is left to leave
+        contact.reset();
+        assertFalse(wall.sweep(150, 139.5, 0, 70, 10, contact));
+    }
+
+    @Test
+    public void sweep_bouncesOffASideStraight() throws Exception {
+        Wall wall = new Wall(100, 100, 200, 200, 0);
+        Contact contact = new Contact();
+        contact.reset();
+
+        assertTrue(wall.sweep(150, 50, 5, 100, 10, contact));
+
+        assertEquals(0.4, contact.getTime(), 1e-9);
+        assertEquals(0, contact.getNormalX(), 0);
+        assertEquals(-1, contact.getNormalY(), 0);
+    }
+}
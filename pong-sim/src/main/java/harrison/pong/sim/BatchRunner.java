@@ -0,0 +1,258 @@
+package harrison.pong.sim;
+
+import harrison.pong.core.PongGame;
+import harrison.pong.core.SpeedPreset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many games at once, one per core, with no screen and no waiting
+ * between ticks, each until it is over. Every game has its own seed and
+ * the paddle is moved by a scripted policy, so a batch gives the same
+ * games every time it is run with the same options.
+ *
+ * Reports games and ticks per second, how scores were spread, and a hash
+ * of every game's end state, which changes if any game played differently.
+ *
+ * Options, all optional:
+ *      --games N        games to play (1000)
+ *      --threads N      threads to play them on (one per core)
+ *      --seed N         seed of the first game; the rest count up (1)
+ *      --policy P       follow, autopilot, sweep or center (follow)
+ *      --speed S        slow, normal or fast (normal)
+ *      --balls N        balls to add over each game (0)
+ *      --max-ticks N    ticks after which a game is stopped (100000)
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class BatchRunner {
+
+    //options
+    private int games = 1000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 1;
+    private PaddlePolicy policy = PaddlePolicy.FOLLOW;
+    private SpeedPreset speed = SpeedPreset.NORMAL;
+    private int balls = 0;
+    private long maxTicks = 100000;
+
+    //games each task plays, so threads do not wait on the queue
+    private static final int GAMES_PER_TASK = 16;
+    //ticks between added balls
+    private static final int TICKS_PER_BALL = 50;
+
+    public static void main(String[] args) throws Exception {
+        BatchRunner runner = new BatchRunner();
+        try {
+            runner.parse(args);
+        }
+        catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+        runner.report(runner.run(), System.out);
+    }
+
+    /**
+     * reads the command line options
+     *
+     * @param args the options
+     * @throws IllegalArgumentException if an option is not understood
+     */
+    void parse(String[] args) {
+        for (int i = 0; i < args.length; i += 2) {
+            if (i+1 == args.length) {
+                throw new IllegalArgumentException("no value for " + args[i]);
+            }
+            String value = args[i+1];
+            switch (args[i]) {
+                case "--games":
+                    games = Integer.parseInt(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--policy":
+                    policy = PaddlePolicy.valueOf(value.toUpperCase());
+                    break;
+                case "--speed":
+                    speed = SpeedPreset.valueOf(value.toUpperCase());
+                    break;
+                case "--balls":
+                    balls = Integer.parseInt(value);
+                    break;
+                case "--max-ticks":
+                    maxTicks = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * plays every game
+     *
+     * @return how each game ended, in seed order, and how long it took
+     */
+    Batch run() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        GameResult[] results = new GameResult[games];
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> tasks = new ArrayList<Future<?>>();
+            for (int first = 0; first < games; first += GAMES_PER_TASK) {
+                tasks.add(pool.submit(playTask(results, first,
+                        Math.min(first+GAMES_PER_TASK, games))));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+        return new Batch(results, System.nanoTime() - start);
+    }
+
+    /**
+     * @return a task that plays some of the games
+     */
+    private Callable<Void> playTask(final GameResult[] results,
+                                    final int first, final int end) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() {
+                for (int i = first; i < end; i++) {
+                    results[i] = play(seed + i);
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * plays one game until it is over, or for maxTicks
+     *
+     * @param seed of the game
+     * @return how it ended
+     */
+    GameResult play(long seed) {
+        PongGame game = new PongGame(seed);
+        int startBricks = game.getBricksRemaining();
+
+        int added = 0;
+        while (!game.isGameOver() && game.getStep() < maxTicks) {
+            long tick = game.getStep();
+            if (game.getBallCount() > 0) {
+                game.postTouch(policy.paddleX(game, tick));
+            }
+            if (added < balls && tick > 0 && tick % TICKS_PER_BALL == 0) {
+                game.postAddBall(speed.getMinSpeed(), speed.getMaxSpeed());
+                added++;
+            }
+            //the ball waits on the paddle until started, as after a lost life
+            if (!game.isBallInPlay()) {
+                game.postStartOrResetBall(speed.getMinSpeed(), speed.getMaxSpeed());
+            }
+            game.tick();
+        }
+
+        boolean won = game.getBricksRemaining() == 0;
+        int finalScore = won ? game.getScore()*game.getLivesRemaining()
+                : game.getScore();
+        return new GameResult(seed, game.getStep(),
+                startBricks - game.getBricksRemaining(), finalScore, won,
+                game.stateHash());
+    }
+
+    /**
+     * prints what happened in a batch
+     *
+     * @param batch the batch
+     * @param out where to print it
+     */
+    void report(Batch batch, java.io.PrintStream out) {
+        GameResult[] results = batch.results;
+        double seconds = batch.nanos / 1e9;
+
+        long ticks = 0;
+        int wins = 0;
+        long hash = 0;
+        int[] scores = new int[results.length];
+        int[] broken = new int[results.length];
+        for (int i = 0; i < results.length; i++) {
+            GameResult result = results[i];
+            ticks += result.ticks;
+            if (result.won) wins++;
+            hash = 31*hash + result.stateHash;
+            scores[i] = result.finalScore;
+            broken[i] = result.bricksBroken;
+        }
+
+        out.printf("%d games, policy %s, speed %s, %d balls added, %d threads%n",
+                results.length, policy.name().toLowerCase(),
+                speed.name().toLowerCase(), balls, threads);
+        out.printf("%.2f s: %.1f games/s, %.0f ticks/s, %.0f ticks/game%n",
+                seconds, results.length/seconds, ticks/seconds,
+                (double) ticks/results.length);
+        out.printf("won %d of %d (%.1f%%)%n", wins, results.length,
+                100.0*wins/results.length);
+        printSpread(out, "final score", scores);
+        printSpread(out, "bricks broken", broken);
+        out.printf("end state hash %016x%n", hash);
+    }
+
+    /**
+     * prints the mean and percentiles of some numbers
+     */
+    private static void printSpread(java.io.PrintStream out, String name,
+                                    int[] values) {
+        if (values.length == 0) return;
+
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (int value : sorted) {
+            sum += value;
+        }
+        out.printf("%-14s mean %.1f, min %d, p10 %d, p50 %d, p90 %d, max %d%n",
+                name, (double) sum/sorted.length, sorted[0],
+                percentile(sorted, 10), percentile(sorted, 50),
+                percentile(sorted, 90), sorted[sorted.length-1]);
+    }
+
+    /**
+     * @param sorted numbers, smallest first
+     * @param percent from 0 to 100
+     * @return a number that percent of the numbers are no bigger than
+     */
+    private static int percentile(int[] sorted, int percent) {
+        int index = (int) Math.ceil(sorted.length*percent/100.0) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    /**
+     * how every game in a batch ended, and how long the batch took
+     */
+    static class Batch {
+        final GameResult[] results;
+        final long nanos;
+
+        Batch(GameResult[] results, long nanos) {
+            this.results = results;
+            this.nanos = nanos;
+        }
+    }
+}
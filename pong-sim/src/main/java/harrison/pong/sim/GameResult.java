@@ -0,0 +1,38 @@
+package harrison.pong.sim;
+
+/**
+ * Class GameResult
+ *
+ * how one simulated game ended
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public class GameResult {
+
+    public final long seed;
+    //ticks the game lasted
+    public final long ticks;
+    //bricks broken over the whole game
+    public final int bricksBroken;
+    //score as shown at the end: bricks broken since the last life was lost,
+    //times lives remaining if the player won
+    public final int finalScore;
+    public final boolean won;
+    //PongGame.stateHash() at the end
+    public final long stateHash;
+
+    /**
+     * GameResult constructor
+     */
+    public GameResult(long seed, long ticks, int bricksBroken,
+                      int finalScore, boolean won, long stateHash) {
+        this.seed = seed;
+        this.ticks = ticks;
+        this.bricksBroken = bricksBroken;
+        this.finalScore = finalScore;
+        this.won = won;
+        this.stateHash = stateHash;
+    }
+}
@@ -0,0 +1,63 @@
+package harrison.pong.sim;
+
+import harrison.pong.core.Autopilot;
+import harrison.pong.core.PongGame;
+
+/**
+ * Enum PaddlePolicy
+ *
+ * scripted ways of moving the paddle, standing in for a player
+ *
+ * @author Harry Thoma
+ * @author Daylin Kuboyama
+ */
+
+public enum PaddlePolicy {
+    //keeps the paddle under the lowest ball
+    FOLLOW {
+        @Override
+        public int paddleX(PongGame game, long tick) {
+            int lowest = 0;
+            for (int i = 1; i < game.getBallCount(); i++) {
+                if (game.getBallY(i) > game.getBallY(lowest)) lowest = i;
+            }
+            return (int) game.getBallX(lowest);
+        }
+    },
+
+    //catches the ball that will reach the paddle first
+    AUTOPILOT {
+        @Override
+        public int paddleX(PongGame game, long tick) {
+            return Autopilot.aim(game);
+        }
+    },
+
+    //sweeps the paddle from wall to wall and back, ignoring the balls
+    SWEEP {
+        @Override
+        public int paddleX(PongGame game, long tick) {
+            int width = game.getScreenWidth();
+            int x = (int) (tick*SWEEP_SPEED % (2*width));
+            return x < width ? x : 2*width - x;
+        }
+    },
+
+    //leaves the paddle in the middle
+    CENTER {
+        @Override
+        public int paddleX(PongGame game, long tick) {
+            return game.getScreenWidth()/2;
+        }
+    };
+
+    //pixels the sweeping paddle moves each tick
+    private static final int SWEEP_SPEED = 12;
+
+    /**
+     * @param game the game being played
+     * @param tick number of ticks so far
+     * @return where to move the paddle before the next tick
+     */
+    public abstract int paddleX(PongGame game, long tick);
+}